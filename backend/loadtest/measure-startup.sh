@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+#
+# Time-to-first-request and idle memory for each startup variant of the backend:
+#   jvm      plain executable jar
+#   aot      Spring AOT-processed jar (-Pfast-startup, -Dspring.aot.enabled=true)
+#   aot-cds  the same, plus the class-data-sharing archive from a training run (the Docker default)
+#   native   GraalVM executable, measured only if target/WeatherApp exists
+#            (./mvnw -pl backend -Pnative -DskipTests native:compile)
+#
+# Requires PostgreSQL reachable through SPRING_DATASOURCE_URL / _USERNAME / _PASSWORD.
+# Time-to-first-request is measured from process launch to the first successful
+# GET /api/weather/locations; idle memory is the resident set size IDLE_SECONDS later.
+#
+# Environment knobs (defaults in brackets):
+#   RUNS [3]  IDLE_SECONDS [20]  APP_PORT [8080]  VARIANTS ["jvm aot aot-cds native"]
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MVN=${MVN:-../mvnw}
+RUNS=${RUNS:-3}
+IDLE_SECONDS=${IDLE_SECONDS:-20}
+APP_PORT=${APP_PORT:-8080}
+VARIANTS=${VARIANTS:-jvm aot aot-cds native}
+EXTRACTED=target/fast-startup
+
+"$MVN" -q -B -Pfast-startup -DskipTests package
+rm -rf "$EXTRACTED"
+java -Djarmode=tools -jar target/WeatherApp-0.0.1-SNAPSHOT.jar extract \
+    --destination "$EXTRACTED" --application-filename app.jar
+(cd "$EXTRACTED" && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=training -Dspring.context.exit=onRefresh -jar app.jar > training.log 2>&1)
+
+# Commands run from $EXTRACTED: the CDS archive only matches the class path it was trained with
+command_for() {
+    case "$1" in
+        jvm) echo "java -jar app.jar" ;;
+        aot) echo "java -Dspring.aot.enabled=true -jar app.jar" ;;
+        aot-cds) echo "java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -jar app.jar" ;;
+        native) [ -x target/WeatherApp ] && echo "../WeatherApp" ;;
+    esac
+}
+
+measure() {
+    local start pid ready rss
+    start=$(date +%s%N)
+    (cd "$EXTRACTED" && REACT_APP_WEATHER_API_KEY="${REACT_APP_WEATHER_API_KEY:-startup}" SERVER_PORT="$APP_PORT" \
+        exec $1 > ../startup-backend.log 2>&1) &
+    pid=$!
+    until curl -fs -o /dev/null "http://localhost:$APP_PORT/api/weather/locations"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "backend exited; see target/startup-backend.log" >&2
+            return 1
+        fi
+        sleep 0.05
+    done
+    ready=$(( ($(date +%s%N) - start) / 1000000 ))
+    sleep "$IDLE_SECONDS"
+    rss=$(awk '/VmRSS/ { print int($2 / 1024) }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$ready $rss"
+}
+
+printf '%-8s %24s %16s\n' variant "time-to-first-request" "idle RSS"
+for variant in $VARIANTS; do
+    command=$(command_for "$variant") || continue
+    ready_total=0
+    rss_total=0
+    for _ in $(seq 1 "$RUNS"); do
+        read -r ready rss < <(measure "$command")
+        ready_total=$((ready_total + ready))
+        rss_total=$((rss_total + rss))
+    done
+    printf '%-8s %21d ms %13d MB\n' "$variant" $((ready_total / RUNS)) $((rss_total / RUNS))
+done
@@ -0,0 +1,55 @@
+#!/usr/bin/env bash
+#
+# Offline end-to-end load test: OpenWeather stub + backend + open-loop load generator on one box.
+#
+# Requires PostgreSQL reachable through SPRING_DATASOURCE_URL / _USERNAME / _PASSWORD
+# (for example `docker compose up -d db`). No call leaves the machine.
+#
+# Environment knobs (defaults in brackets):
+#   STUB_LATENCY [lognormal:80:0.5]   fixed:<ms> | uniform:<min>:<max> | lognormal:<median ms>:<sigma>
+#   STUB_ERROR_RATE [0.01]            fraction of upstream calls answered with STUB_ERROR_STATUS [500]
+#   SCENARIOS ["list current forecast refresh mixed scheduler"]
+#   SYNC_INTERVAL_MS [15000]          scheduler period used by the backend under test
+# Extra arguments are passed to the load generator, e.g. rps=300 duration=120 seed=200.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MVN=${MVN:-../mvnw}
+STUB_PORT=${STUB_PORT:-8089}
+STUB_LATENCY=${STUB_LATENCY:-lognormal:80:0.5}
+STUB_ERROR_RATE=${STUB_ERROR_RATE:-0.01}
+STUB_ERROR_STATUS=${STUB_ERROR_STATUS:-500}
+APP_PORT=${APP_PORT:-8080}
+SYNC_INTERVAL_MS=${SYNC_INTERVAL_MS:-15000}
+SCENARIOS=${SCENARIOS:-list current forecast refresh mixed scheduler}
+
+"$MVN" -q -B -Ploadtest -DskipTests package
+"$MVN" -q -B -Ploadtest dependency:build-classpath \
+    -Dmdep.outputFile=target/loadtest.classpath -Dmdep.includeScope=test
+CLASSPATH="target/test-classes:target/classes:$(cat target/loadtest.classpath)"
+
+java -cp "$CLASSPATH" com.uzwide.WeatherApp.support.OpenWeatherStubServer \
+    port="$STUB_PORT" latency="$STUB_LATENCY" errorRate="$STUB_ERROR_RATE" errorStatus="$STUB_ERROR_STATUS" &
+STUB_PID=$!
+
+WEATHER_API_BASE_URL="http://127.0.0.1:$STUB_PORT" \
+REACT_APP_WEATHER_API_KEY="${REACT_APP_WEATHER_API_KEY:-stub}" \
+WEATHER_SYNC_INTERVAL="$SYNC_INTERVAL_MS" \
+SERVER_PORT="$APP_PORT" \
+    java ${BACKEND_JAVA_OPTS:-} -jar target/WeatherApp-0.0.1-SNAPSHOT.jar > target/loadtest-backend.log 2>&1 &
+APP_PID=$!
+trap 'kill "$APP_PID" "$STUB_PID" 2>/dev/null || true' EXIT
+
+for _ in $(seq 1 90); do
+    if curl -fs "http://localhost:$APP_PORT/actuator/health/readiness" > /dev/null; then
+        break
+    fi
+    sleep 1
+done
+
+for scenario in $SCENARIOS; do
+    java -cp "$CLASSPATH" com.uzwide.WeatherApp.loadtest.LoadTest \
+        target="http://localhost:$APP_PORT" scenario="$scenario" "$@"
+done
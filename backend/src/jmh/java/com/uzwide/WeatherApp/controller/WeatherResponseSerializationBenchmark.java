@@ -0,0 +1,68 @@
+package com.uzwide.WeatherApp.controller;
+
+import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes the payload returned by {@code GET /api/weather/locations} for accounts of different sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherResponseSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int locations;
+
+    private JsonMapper jsonMapper;
+    private List<WeatherResponseDTO> payload;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+        payload = new ArrayList<>(locations);
+        LocalDateTime fetchedAt = LocalDateTime.of(2026, 10, 19, 12, 0);
+        for (int i = 0; i < locations; i++) {
+            payload.add(WeatherResponseDTO.builder()
+                    .locationId((long) i)
+                    .locationName("City " + i)
+                    .displayName("City " + i + ", ZA")
+                    .country("ZA")
+                    .temperature(18.0 + (i % 15))
+                    .feelsLike(17.5 + (i % 15))
+                    .humidity(40 + (i % 50))
+                    .pressure(1000 + (i % 30))
+                    .windSpeed(2.5 + (i % 8))
+                    .weatherCondition("Clouds")
+                    .weatherDescription("scattered clouds")
+                    .weatherIcon("03d")
+                    .lastUpdated(fetchedAt.minusMinutes(i % 30))
+                    .isFavorite(i % 10 == 0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeLocationList() {
+        return jsonMapper.writeValueAsBytes(payload);
+    }
+}
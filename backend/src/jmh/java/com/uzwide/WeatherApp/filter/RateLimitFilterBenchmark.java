@@ -0,0 +1,66 @@
+package com.uzwide.WeatherApp.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the filter from several threads at once. A pool of one client IP measures the
+ * contended rejection path; larger pools spread load across many sliding windows.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimitFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @State(Scope.Benchmark)
+    public static class SharedFilter {
+        @Param({"1", "64", "4096"})
+        int clientIpPool;
+
+        RateLimitFilter filter;
+        String[] clientIps;
+
+        @Setup
+        public void setUp() {
+            filter = new RateLimitFilter(new SimpleMeterRegistry());
+            clientIps = new String[clientIpPool];
+            for (int i = 0; i < clientIpPool; i++) {
+                clientIps[i] = "10." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ClientCursor {
+        int next;
+    }
+
+    @Benchmark
+    public int doFilterInternal(SharedFilter shared, ClientCursor cursor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/weather/locations");
+        request.setRemoteAddr(shared.clientIps[cursor.next++ % shared.clientIps.length]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        shared.filter.doFilterInternal(request, response, NO_OP_CHAIN);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,62 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.response.ForecastApiResponseDTO;
+import com.uzwide.WeatherApp.dto.response.ForecastDTO;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.support.OpenWeatherFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Maps the full recorded 5-day/3-hour payload (40 items) per invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ForecastServiceBenchmark {
+
+    private ForecastService forecastService;
+    private List<Map<String, Object>> rawItems;
+    private List<ForecastApiResponseDTO.ForecastItem> mappedItems;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        forecastService = new ForecastService(mock(LocationRepository.class), mock(UpstreamClient.class));
+        rawItems = (List<Map<String, Object>>) OpenWeatherFixtures.forecast().get("list");
+        mappedItems = rawItems.stream().map(forecastService::mapToForecastItem).toList();
+    }
+
+    @Benchmark
+    public void mapToForecastItem(Blackhole blackhole) {
+        for (Map<String, Object> item : rawItems) {
+            blackhole.consume(forecastService.mapToForecastItem(item));
+        }
+    }
+
+    @Benchmark
+    public void mapToForecastDTO(Blackhole blackhole) {
+        for (ForecastApiResponseDTO.ForecastItem item : mappedItems) {
+            ForecastDTO dto = forecastService.mapToForecastDTO(item);
+            blackhole.consume(dto);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.model.WeatherCondition;
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import com.uzwide.WeatherApp.repositories.LatestWeatherRepository;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.repositories.LocationTombstoneRepository;
+import com.uzwide.WeatherApp.repositories.WeatherConditionDictionary;
+import com.uzwide.WeatherApp.repositories.WeatherSnapshotRepository;
+import com.uzwide.WeatherApp.support.OpenWeatherFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.ArgumentMatchers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherServiceBenchmark {
+
+    private WeatherService weatherService;
+    private Map<String, Object> currentWeather;
+    private Location location;
+
+    @Setup
+    public void setUp() {
+        currentWeather = OpenWeatherFixtures.currentWeather();
+        weatherService = new WeatherService(mock(LocationRepository.class), mock(WeatherSnapshotRepository.class),
+                mock(UpstreamClient.class), new SimpleMeterRegistry(), mock(LocationSearchIndex.class),
+                mock(GeocodingService.class), mock(LocationTombstoneRepository.class),
+                mock(LatestWeatherRepository.class), mock(SnapshotWriter.class), mock(AlertService.class),
+                warmDictionary());
+
+        location = new Location();
+        location.setId(1L);
+        location.setName("Cape Town");
+        location.setCountry("ZA");
+        location.setLatitude(-33.9249);
+        location.setLongitude(18.4241);
+    }
+
+    // The real dictionary, already holding the fixture's condition as it would after the first sync, so
+    // the mapping benchmark measures an in-memory lookup and never reaches the mocked database
+    @SuppressWarnings("unchecked")
+    private WeatherConditionDictionary warmDictionary() {
+        Map<String, Object> weather = ((List<Map<String, Object>>) currentWeather.get("weather")).get(0);
+        WeatherCondition condition = new WeatherCondition((short) 1, (String) weather.get("main"),
+                (String) weather.get("description"), (String) weather.get("icon"));
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), ArgumentMatchers.<RowMapper<WeatherCondition>>any(), any(), any(), any()))
+                .thenReturn(List.of(condition));
+
+        WeatherConditionDictionary dictionary = new WeatherConditionDictionary(jdbcTemplate);
+        dictionary.intern(condition.condition(), condition.description(), condition.icon());
+        return dictionary;
+    }
+
+    @Benchmark
+    public WeatherSnapshot mapToWeatherSnapshot() {
+        return weatherService.mapToWeatherSnapshot(currentWeather, location);
+    }
+
+    @Benchmark
+    public String normalizeCountryCode(CountryInput input) {
+        return weatherService.normalizeCountryCode(input.value);
+    }
+
+    @State(Scope.Benchmark)
+    public static class CountryInput {
+        @Param({"ZA", "South Africa", "United States"})
+        String value;
+    }
+}
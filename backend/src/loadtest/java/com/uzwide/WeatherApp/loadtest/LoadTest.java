@@ -0,0 +1,283 @@
+package com.uzwide.WeatherApp.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop HTTP load generator for the weather API.
+ * <p>
+ * Requests are issued on a fixed schedule at the target rate. Latency is measured from each
+ * request's intended start time, so a stalled server shows up in the tail percentiles instead
+ * of quietly lowering the offered load. Requests rotate {@code X-Forwarded-For} across a pool
+ * of synthetic clients, which keeps the per-IP rate limiter from masking server behaviour.
+ * <p>
+ * Options ({@code key=value}):
+ * <ul>
+ *   <li>{@code target} - backend base URL (default {@code http://localhost:8080})</li>
+ *   <li>{@code scenario} - {@code list}, {@code current}, {@code forecast}, {@code refresh},
+ *       {@code mixed} or {@code scheduler} (default {@code mixed})</li>
+ *   <li>{@code rps}, {@code duration} (seconds), {@code warmup} (seconds)</li>
+ *   <li>{@code seed} - locations to create before the run (default 50)</li>
+ *   <li>{@code clients} - distinct synthetic client IPs (default 1000)</li>
+ *   <li>{@code maxInFlight} - outstanding request cap before requests are dropped (default 5000)</li>
+ * </ul>
+ */
+public final class LoadTest {
+    private static final Pattern LOCATION_ID = Pattern.compile("\"locationId\"\\s*:\\s*(\\d+)");
+    private static final Pattern MEASUREMENT = Pattern.compile("\"statistic\"\\s*:\\s*\"(\\w+)\"\\s*,\\s*\"value\"\\s*:\\s*([\\d.Ee+-]+)");
+
+    private final Map<String, String> options;
+    private final String target;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private List<Long> locationIds = List.of();
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.target = option("target", "http://localhost:8080");
+        this.executor = Executors.newFixedThreadPool(Integer.parseInt(option("ioThreads", "32")));
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+
+        LoadTest loadTest = new LoadTest(options);
+        try {
+            loadTest.run();
+        } finally {
+            loadTest.executor.shutdownNow();
+        }
+    }
+
+    private void run() throws Exception {
+        String scenario = option("scenario", "mixed");
+        int rps = Integer.parseInt(option("rps", "100"));
+        int duration = Integer.parseInt(option("duration", "60"));
+        int warmup = Integer.parseInt(option("warmup", "10"));
+
+        seedLocations(Integer.parseInt(option("seed", "50")));
+        locationIds = fetchLocationIds();
+        if (locationIds.isEmpty()) {
+            throw new IllegalStateException("No locations available at " + target);
+        }
+        System.out.printf("Target %s, scenario=%s, rps=%d, duration=%ds, warmup=%ds, locations=%d%n",
+                target, scenario, rps, duration, warmup, locationIds.size());
+
+        if ("scheduler".equals(scenario)) {
+            runScheduler(duration);
+            return;
+        }
+
+        if (warmup > 0) {
+            drive(scenario, rps, warmup).print("warmup");
+        }
+        drive(scenario, rps, duration).print(scenario);
+    }
+
+    private Result drive(String scenario, int rps, int seconds) throws InterruptedException {
+        Result result = new Result(seconds);
+        Semaphore inFlight = new Semaphore(Integer.parseInt(option("maxInFlight", "5000")));
+        int clients = Integer.parseInt(option("clients", "1000"));
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rps;
+        long total = (long) rps * seconds;
+        long start = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                result.recordOutcome("dropped (maxInFlight)");
+                continue;
+            }
+
+            HttpRequest request = nextRequest(scenario, "10.%d.%d.%d".formatted(
+                    (i % clients) >> 16 & 0xFF, (i % clients) >> 8 & 0xFF, (i % clients) & 0xFF));
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        result.recordLatency(System.nanoTime() - intendedStart);
+                        result.recordOutcome(error == null ? String.valueOf(response.statusCode()) : describe(error));
+                        inFlight.release();
+                    });
+        }
+
+        inFlight.acquire(Integer.parseInt(option("maxInFlight", "5000")));
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private HttpRequest nextRequest(String scenario, String clientIp) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long id = locationIds.get(random.nextInt(locationIds.size()));
+        String chosen = scenario;
+        if ("mixed".equals(scenario)) {
+            int roll = random.nextInt(100);
+            chosen = roll < 50 ? "list" : roll < 80 ? "current" : roll < 95 ? "forecast" : "refresh";
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(30))
+                .header("X-Forwarded-For", clientIp);
+        return switch (chosen) {
+            case "list" -> builder.uri(URI.create(target + "/api/weather/locations")).GET().build();
+            case "current" -> builder.uri(URI.create(target + "/api/weather/locations/" + id)).GET().build();
+            case "forecast" -> builder.uri(URI.create(target + "/api/forecast/" + id)).GET().build();
+            case "refresh" -> builder.uri(URI.create(target + "/api/weather/locations/" + id + "/refresh"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    /**
+     * Turns on auto-refresh and samples the sync sweep metrics exposed by the actuator.
+     * Start the backend with a short {@code WEATHER_SYNC_INTERVAL} for this scenario.
+     */
+    private void runScheduler(int seconds) throws IOException, InterruptedException {
+        send(HttpRequest.newBuilder(URI.create(target + "/api/preferences"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"autoRefreshEnabled\":true}"))
+                .build());
+        try {
+            TimeUnit.SECONDS.sleep(seconds);
+            Map<String, Double> duration = metric("weather.sync.duration", "");
+            Map<String, Double> succeeded = metric("weather.sync.locations", "?tag=result:success");
+            Map<String, Double> failed = metric("weather.sync.locations", "?tag=result:failure");
+
+            double sweeps = duration.getOrDefault("COUNT", 0.0);
+            System.out.printf("%n== scheduler ==%n");
+            System.out.printf("sweeps            %.0f%n", sweeps);
+            System.out.printf("mean sweep        %.1f ms%n",
+                    sweeps > 0 ? duration.getOrDefault("TOTAL_TIME", 0.0) * 1000 / sweeps : 0.0);
+            System.out.printf("max sweep         %.1f ms%n", duration.getOrDefault("MAX", 0.0) * 1000);
+            System.out.printf("locations ok      %.0f%n", succeeded.getOrDefault("COUNT", 0.0));
+            System.out.printf("locations failed  %.0f%n", failed.getOrDefault("COUNT", 0.0));
+        } finally {
+            send(HttpRequest.newBuilder(URI.create(target + "/api/preferences"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("{\"autoRefreshEnabled\":false}"))
+                    .build());
+        }
+    }
+
+    private void seedLocations(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            double latitude = -34.0 + (i % 100) * 0.1;
+            double longitude = 18.0 + (i / 100) * 0.1;
+            String body = """
+                    {"name":"Load Test %d","country":"ZA","latitude":%.4f,"longitude":%.4f}"""
+                    .formatted(i, latitude, longitude);
+            send(HttpRequest.newBuilder(URI.create(target + "/api/weather/locations"))
+                    .header("Content-Type", "application/json")
+                    .header("X-Forwarded-For", "10.255.0." + (i % 250))
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build());
+        }
+    }
+
+    private List<Long> fetchLocationIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(target + "/api/weather/locations"))
+                .header("X-Forwarded-For", "10.254.0.1")
+                .GET()
+                .build());
+        List<Long> ids = new ArrayList<>();
+        Matcher matcher = LOCATION_ID.matcher(response.body());
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    private Map<String, Double> metric(String name, String query) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(
+                URI.create(target + "/actuator/metrics/" + name + query)).GET().build());
+        Map<String, Double> values = new TreeMap<>();
+        if (response.statusCode() == 200) {
+            Matcher matcher = MEASUREMENT.matcher(response.body());
+            while (matcher.find()) {
+                values.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+            }
+        }
+        return values;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String option(String key, String defaultValue) {
+        return options.getOrDefault(key, defaultValue);
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof HttpTimeoutException ? "timeout" : cause.getClass().getSimpleName();
+    }
+
+    private static final class Result {
+        private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(5), 3);
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        private final int plannedSeconds;
+        private long elapsedNanos;
+
+        private Result(int plannedSeconds) {
+            this.plannedSeconds = plannedSeconds;
+        }
+
+        void recordLatency(long nanos) {
+            latency.recordValue(Math.min(nanos, latency.getHighestTrackableValue()));
+        }
+
+        void recordOutcome(String outcome) {
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        void print(String label) {
+            long completed = latency.getTotalCount();
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("%n== %s (%ds planned, %.1fs elapsed) ==%n", label, plannedSeconds, seconds);
+            System.out.printf("completed   %d%n", completed);
+            System.out.printf("throughput  %.1f req/s%n", completed / seconds);
+            System.out.printf("p50         %.2f ms%n", latency.getValueAtPercentile(50) / 1e6);
+            System.out.printf("p99         %.2f ms%n", latency.getValueAtPercentile(99) / 1e6);
+            System.out.printf("p99.9       %.2f ms%n", latency.getValueAtPercentile(99.9) / 1e6);
+            System.out.printf("max         %.2f ms%n", latency.getMaxValue() / 1e6);
+            System.out.println("outcomes:");
+            new TreeMap<>(outcomes).forEach((outcome, count) ->
+                    System.out.printf("  %-24s %d%n", outcome, count.sum()));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.uzwide.WeatherApp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.dao.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Background thread that LISTENs for {@link PostgresCacheStore#CHANNEL} notifications on a
+ * dedicated connection, outside the pool, and drops the matching L1 entries.
+ * <p>
+ * Notifications sent while the connection is down are lost, so after a reconnect every L1
+ * cache is cleared and refilled from L2. The same thread purges expired L2 rows.
+ */
+@Slf4j
+class CacheInvalidationListener implements Runnable {
+    private static final int POLL_MILLIS = 1000;
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(5);
+
+    private final Callable<Connection> connectionSource;
+    private final PostgresCacheStore store;
+    private final TwoTierCacheManager cacheManager;
+    private volatile boolean running;
+    private Thread thread;
+    private long nextPurge;
+
+    CacheInvalidationListener(Callable<Connection> connectionSource, PostgresCacheStore store,
+                              TwoTierCacheManager cacheManager) {
+        this.connectionSource = connectionSource;
+        this.store = store;
+        this.cacheManager = cacheManager;
+        this.nextPurge = System.nanoTime();
+    }
+
+    synchronized void start() {
+        running = true;
+        thread = new Thread(this, "cache-invalidation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = connectionSource.call()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + PostgresCacheStore.CHANNEL);
+                }
+                if (reconnecting) {
+                    log.info("Cache invalidation channel reconnected, clearing L1 caches");
+                    cacheManager.clearLocal();
+                }
+                reconnecting = true;
+                listen(connection.unwrap(PGConnection.class));
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation channel lost, retrying in {}s: {}",
+                        RECONNECT_DELAY.toSeconds(), e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void listen(PGConnection connection) throws Exception {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_MILLIS);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    handle(notification.getParameter());
+                }
+            }
+            purgeIfDue();
+        }
+    }
+
+    /**
+     * Payloads are {@code nodeId:op:cacheName[:key]}; the key may itself contain colons.
+     */
+    void handle(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length < 3 || parts[0].equals(store.getNodeId())) {
+            return;
+        }
+        String key = parts[1].equals("evict") && parts.length == 4 ? parts[3] : null;
+        cacheManager.invalidateLocal(parts[2], key);
+    }
+
+    private void purgeIfDue() {
+        long now = System.nanoTime();
+        if (now - nextPurge < 0) {
+            return;
+        }
+        nextPurge = now + PURGE_INTERVAL.toNanos();
+        try {
+            int purged = store.purgeExpired();
+            if (purged > 0) {
+                log.debug("Purged {} expired L2 cache entries", purged);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not purge expired L2 cache entries: {}", e.getMessage());
+        }
+    }
+}
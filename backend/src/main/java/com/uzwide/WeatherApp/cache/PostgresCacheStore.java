@@ -0,0 +1,117 @@
+package com.uzwide.WeatherApp.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Shared L2 tier: serialized cache values in the {@code cache_entries} table.
+ * <p>
+ * Every write or eviction is announced on the {@value #CHANNEL} channel as
+ * {@code nodeId:op:cacheName[:key]} so that other nodes drop their L1 copy. {@code pg_notify}
+ * is transactional, so a change made inside a transaction is only announced once it commits.
+ * Expiry is judged by the database clock, so nodes with skewed clocks agree on it.
+ * <p>
+ * The table is unlogged, so a hot-standby replica cannot read it. Inside a read-only transaction,
+ * which the routing data source sends to a replica, the store therefore uses a connection of its own
+ * from the primary pool. Other calls join the caller's transaction, which is on the primary already.
+ * <p>
+ * Values are only deserialized into the API's DTOs, the JDK value types they are made of and
+ * Spring's cached-null marker; anything else in the table is rejected before it is instantiated.
+ * An entry that cannot be read, whether rejected, corrupt or written by an incompatible version of
+ * a class, is treated as a miss and deleted, so the next read loads and stores it afresh.
+ */
+@Slf4j
+public class PostgresCacheStore {
+    public static final String CHANNEL = "cache_invalidation";
+
+    static final ObjectInputFilter VALUE_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=20;com.uzwide.WeatherApp.dto.**;java.lang.*;java.util.*;java.time.*;java.math.*;"
+                    + "org.springframework.cache.support.NullValue;!*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final String nodeId;
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final DeserializingConverter deserializer = new DeserializingConverter(inputStream -> {
+        ObjectInputStream objectInputStream =
+                new ConfigurableObjectInputStream(inputStream, PostgresCacheStore.class.getClassLoader());
+        objectInputStream.setObjectInputFilter(VALUE_FILTER);
+        try {
+            return objectInputStream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Failed to deserialize cache value", e);
+        }
+    });
+
+    /**
+     * {@code primaryJdbcTemplate} is on the primary pool itself, not the routing data source behind
+     * {@code jdbcTemplate}. Without replicas both are on the same pool.
+     */
+    public PostgresCacheStore(JdbcTemplate jdbcTemplate, JdbcTemplate primaryJdbcTemplate, String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.primaryJdbcTemplate = primaryJdbcTemplate;
+        this.nodeId = nodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Object get(String cacheName, String key) {
+        List<byte[]> values = jdbc().queryForList(
+                "SELECT value FROM cache_entries WHERE cache_name = ? AND cache_key = ? AND expires_at > LOCALTIMESTAMP",
+                byte[].class, cacheName, key);
+        if (values.isEmpty()) {
+            return null;
+        }
+        try {
+            return deserializer.convert(values.get(0));
+        } catch (SerializationFailedException e) {
+            log.warn("Dropping unreadable L2 cache entry {} in {}: {}", key, cacheName,
+                    e.getMostSpecificCause().toString());
+            evict(cacheName, key);
+            return null;
+        }
+    }
+
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        jdbc().update("INSERT INTO cache_entries (cache_name, cache_key, value, expires_at) VALUES (?, ?, ?, LOCALTIMESTAMP + make_interval(secs => ?)) "
+                        + "ON CONFLICT (cache_name, cache_key) DO UPDATE SET value = EXCLUDED.value, expires_at = EXCLUDED.expires_at",
+                cacheName, key, serializer.convert(value), ttl.toMillis() / 1000.0);
+        publish("evict", cacheName, key);
+    }
+
+    public void evict(String cacheName, String key) {
+        jdbc().update("DELETE FROM cache_entries WHERE cache_name = ? AND cache_key = ?", cacheName, key);
+        publish("evict", cacheName, key);
+    }
+
+    public void clear(String cacheName) {
+        jdbc().update("DELETE FROM cache_entries WHERE cache_name = ?", cacheName);
+        publish("clear", cacheName, null);
+    }
+
+    public int purgeExpired() {
+        return jdbc().update("DELETE FROM cache_entries WHERE expires_at <= LOCALTIMESTAMP");
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        String payload = nodeId + ":" + op + ":" + cacheName + (key != null ? ":" + key : "");
+        jdbc().queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+    }
+
+    private JdbcTemplate jdbc() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? primaryJdbcTemplate : jdbcTemplate;
+    }
+}
@@ -0,0 +1,162 @@
+package com.uzwide.WeatherApp.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Caffeine near cache (L1) in front of the shared {@link PostgresCacheStore} (L2).
+ * <p>
+ * Reads try L1, then L2, then the loader; writes and evictions go to both tiers and are
+ * broadcast so other nodes drop their L1 copy. Keys are stored as strings in both tiers.
+ * When L2 is unreachable the cache degrades to L1 only instead of failing the request.
+ */
+@Slf4j
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final PostgresCacheStore store;
+    private final Duration ttl;
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter invalidations;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        PostgresCacheStore store, Duration ttl, MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.store = store;
+        this.ttl = ttl;
+        this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+        this.invalidations = meterRegistry.counter("weather.cache.invalidations", "cache", name);
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return meterRegistry.counter("weather.cache.gets", "cache", name, "tier", tier, "result", result);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = key.toString();
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        l1Misses.increment();
+        value = loadFromStore(cacheKey);
+        if (value != null) {
+            local.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = key.toString();
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            l1Hits.increment();
+            return (T) fromStoreValue(value);
+        }
+        l1Misses.increment();
+        // Caffeine runs the mapping once per key, so concurrent misses on this node load only once
+        return (T) fromStoreValue(local.get(cacheKey, ignored -> {
+            Object stored = loadFromStore(cacheKey);
+            if (stored != null) {
+                return stored;
+            }
+            Object loaded;
+            try {
+                loaded = toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            writeToStore(cacheKey, loaded);
+            return loaded;
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = key.toString();
+        Object storeValue = toStoreValue(value);
+        local.put(cacheKey, storeValue);
+        writeToStore(cacheKey, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = key.toString();
+        local.invalidate(cacheKey);
+        try {
+            store.evict(name, cacheKey);
+        } catch (DataAccessException e) {
+            log.warn("Could not evict {} from L2 cache {}: {}", cacheKey, name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            store.clear(name);
+        } catch (DataAccessException e) {
+            log.warn("Could not clear L2 cache {}: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops an L1 entry after another node changed it; L2 is already up to date.
+     */
+    void invalidateLocal(String key) {
+        invalidations.increment();
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private Object loadFromStore(String cacheKey) {
+        Object value;
+        try {
+            value = store.get(name, cacheKey);
+        } catch (DataAccessException e) {
+            log.warn("L2 cache {} unavailable, reading through: {}", name, e.getMessage());
+            return null;
+        }
+        (value != null ? l2Hits : l2Misses).increment();
+        return value;
+    }
+
+    private void writeToStore(String cacheKey, Object storeValue) {
+        try {
+            store.put(name, cacheKey, storeValue, ttl);
+        } catch (DataAccessException e) {
+            log.warn("Could not write {} to L2 cache {}: {}", cacheKey, name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.uzwide.WeatherApp.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link CacheManager} of {@link TwoTierCache}s sharing one {@link PostgresCacheStore}.
+ * As a lifecycle bean it keeps the invalidation listener running while the context is up.
+ */
+public class TwoTierCacheManager implements CacheManager, SmartLifecycle {
+    private final Map<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final CaffeineSpec localSpec;
+    private final PostgresCacheStore store;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidationListener listener;
+
+    public TwoTierCacheManager(String[] cacheNames, CaffeineSpec localSpec, PostgresCacheStore store, Duration ttl,
+                               MeterRegistry meterRegistry, Callable<Connection> listenerConnection) {
+        this.localSpec = localSpec;
+        this.store = store;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+        this.listener = new CacheInvalidationListener(listenerConnection, store, this);
+        for (String name : cacheNames) {
+            getCache(name);
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName ->
+                new TwoTierCache(cacheName, Caffeine.from(localSpec).build(), store, ttl, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * Applies an invalidation broadcast by another node; a {@code null} key clears the cache.
+     */
+    void invalidateLocal(String cacheName, String key) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.invalidateLocal(key);
+        }
+    }
+
+    void clearLocal() {
+        caches.values().forEach(cache -> cache.invalidateLocal(null));
+    }
+
+    @Override
+    public void start() {
+        listener.start();
+    }
+
+    @Override
+    public void stop() {
+        listener.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listener.isRunning();
+    }
+}
@@ -0,0 +1,126 @@
+package com.uzwide.WeatherApp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ready-to-send JSON of {@link WeatherResponseDTO}s, one entry per location and units, serialized
+ * with the same mapper as the rest of the API.
+ * <p>
+ * An entry remembers the response it was written from and is used only while the caller's response
+ * is equal to it. It therefore goes stale exactly when the {@code weather} cache entry or the
+ * {@code latest_weather} row behind it changes, on any node, without invalidation hooks of its own;
+ * replaced entries are simply overwritten. Lists are built by concatenating entries. With
+ * {@code weather.response-cache.gzip} each entry also keeps a gzip copy for single-location responses.
+ */
+@Component
+public class WeatherJsonCache {
+    private final JsonMapper jsonMapper;
+    private final Cache<String, Json> entries;
+    private final boolean gzip;
+    private final Counter hits;
+    private final Counter misses;
+
+    public WeatherJsonCache(JsonMapper jsonMapper, MeterRegistry meterRegistry,
+                            @Value("${weather.response-cache.max-size:20000}") long maxSize,
+                            @Value("${weather.response-cache.gzip:false}") boolean gzip) {
+        this.jsonMapper = jsonMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+        this.gzip = gzip;
+        this.hits = meterRegistry.counter("weather.response.json", "result", "hit");
+        this.misses = meterRegistry.counter("weather.response.json", "result", "miss");
+    }
+
+    public boolean isGzipEnabled() {
+        return gzip;
+    }
+
+    public Json get(WeatherResponseDTO weather, Units units) {
+        String key = weather.getLocationId() + "_" + units;
+        Json cached = entries.getIfPresent(key);
+        if (cached != null && (cached.source == weather || cached.source.equals(weather))) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        Json json = new Json(weather, jsonMapper.writeValueAsBytes(weather));
+        entries.put(key, json);
+        return json;
+    }
+
+    /**
+     * The JSON array of {@code weather}, identical to serializing the list in one go.
+     */
+    public byte[] array(List<WeatherResponseDTO> weather, Units units) {
+        byte[][] fragments = new byte[weather.size()][];
+        int size = 2 + Math.max(0, weather.size() - 1);
+        for (int i = 0; i < fragments.length; i++) {
+            fragments[i] = get(weather.get(i), units).bytes();
+            size += fragments[i].length;
+        }
+
+        byte[] array = new byte[size];
+        int position = 0;
+        array[position++] = '[';
+        for (int i = 0; i < fragments.length; i++) {
+            if (i > 0) {
+                array[position++] = ',';
+            }
+            System.arraycopy(fragments[i], 0, array, position, fragments[i].length);
+            position += fragments[i].length;
+        }
+        array[position] = ']';
+        return array;
+    }
+
+    /**
+     * One serialized response. The bytes are shared between requests and must not be modified.
+     */
+    public static final class Json {
+        private final WeatherResponseDTO source;
+        private final byte[] bytes;
+        private volatile byte[] gzipped;
+
+        private Json(WeatherResponseDTO source, byte[] bytes) {
+            this.source = source;
+            this.bytes = bytes;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+
+        // Compressed on first use; a race only compresses twice
+        public byte[] gzipped() {
+            byte[] compressed = gzipped;
+            if (compressed == null) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                    gzip.write(bytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                compressed = out.toByteArray();
+                gzipped = compressed;
+            }
+            return compressed;
+        }
+    }
+}
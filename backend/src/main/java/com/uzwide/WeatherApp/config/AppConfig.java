@@ -1,6 +1,14 @@
 package com.uzwide.WeatherApp.config;
 
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import com.uzwide.WeatherApp.cache.PostgresCacheStore;
+import com.uzwide.WeatherApp.cache.TwoTierCacheManager;
+import com.uzwide.WeatherApp.datasource.ReplicaRoutingDataSource;
 import com.uzwide.WeatherApp.dto.request.Units;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -8,21 +16,51 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.format.FormatterRegistry;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import javax.sql.DataSource;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.UUID;
+
 @Configuration
 @EnableCaching
 public class AppConfig implements WebMvcConfigurer {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public CacheManager cacheManager(@Value("${spring.cache.cache-names}") String[] cacheNames,
+                                     @Value("${spring.cache.caffeine.spec}") String cacheSpec,
+                                     @Value("${weather.cache.l2.enabled:false}") boolean l2Enabled,
+                                     @Value("${weather.cache.l2.ttl:30m}") Duration l2Ttl,
+                                     DataSource dataSource,
+                                     JdbcTemplate jdbcTemplate,
+                                     DataSourceProperties dataSourceProperties,
+                                     MeterRegistry meterRegistry) {
+        CaffeineSpec localSpec = CaffeineSpec.parse(cacheSpec + ",recordStats");
+        // Checked here rather than with @Conditional, which Spring AOT would settle at build time
+        if (l2Enabled) {
+            DataSource primary = dataSource instanceof ReplicaRoutingDataSource routing ? routing.getPrimary() : dataSource;
+            PostgresCacheStore store = new PostgresCacheStore(jdbcTemplate, new JdbcTemplate(primary),
+                    UUID.randomUUID().toString());
+            return new TwoTierCacheManager(cacheNames, localSpec, store, l2Ttl, meterRegistry,
+                    () -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                            dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()));
+        }
+        // Caches are declared up front so the actuator can bind hit/miss meters to each of them
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(cacheNames);
+        cacheManager.setCaffeineSpec(localSpec);
+        return cacheManager;
     }
 
     @Bean
-    public CacheManager cacheManager() {
-        return new CaffeineCacheManager();
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${weather.flyway.migrate:true}") boolean migrate) {
+        // spring.flyway.enabled is fixed at build time under Spring AOT, so migrations are skipped here instead
+        return flyway -> {
+            if (migrate) {
+                flyway.migrate();
+            }
+        };
     }
 
     @Override
@@ -0,0 +1,85 @@
+package com.uzwide.WeatherApp.config;
+
+import com.uzwide.WeatherApp.datasource.ReadReplicaDataSource;
+import com.uzwide.WeatherApp.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ImportRuntimeHints(DataSourceConfig.HikariHints.class)
+@Slf4j
+public class DataSourceConfig {
+
+    /**
+     * The primary pool from {@code spring.datasource.*}. When {@code weather.datasource.replicas.urls}
+     * lists replicas, read-only transactions are routed to them and only writes reach the primary.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties,
+                                 Environment environment,
+                                 @Value("${weather.datasource.replicas.urls:}") List<String> replicaUrls,
+                                 @Value("${weather.datasource.replicas.max-staleness:5s}") Duration maxStaleness,
+                                 @Value("${weather.datasource.replicas.check-interval:5s}") Duration checkInterval,
+                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        // Checked here rather than with @Conditional, which Spring AOT would settle at build time
+        List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (urls.isEmpty()) {
+            return primary;
+        }
+
+        List<HikariDataSource> replicaPools = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i));
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            // A replica that is down at startup is bypassed rather than failing the application
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicaPools.add(new HikariDataSource(config));
+        }
+        ReadReplicaDataSource replicas =
+                new ReadReplicaDataSource(primary, replicaPools, maxStaleness, checkInterval, meterRegistry);
+        replicas.start();
+        log.info("Routing read-only transactions to {} replica(s), max staleness {}", urls.size(), maxStaleness);
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    /**
+     * Pool settings are bound onto {@link HikariDataSource} and copied field by field to replica pools.
+     */
+    static class HikariHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(HikariDataSource.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(HikariConfig.class,
+                    MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.ACCESS_DECLARED_FIELDS);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.uzwide.WeatherApp.config;
+
+import com.uzwide.WeatherApp.gazetteer.Gazetteer;
+import com.uzwide.WeatherApp.gazetteer.GazetteerWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@Configuration
+@ImportRuntimeHints(GazetteerConfig.BundledCitiesHints.class)
+@Slf4j
+public class GazetteerConfig {
+    private static final String BUNDLED_CITIES = "gazetteer/cities.csv";
+
+    /**
+     * Maps {@code weather.gazetteer.path} when set (e.g. a file built from GeoNames with
+     * {@link GazetteerWriter}); otherwise compiles the bundled city list into a temporary file.
+     */
+    @Bean
+    public Gazetteer gazetteer(@Value("${weather.gazetteer.path:}") String path) throws IOException {
+        Path file;
+        if (!path.isBlank()) {
+            file = Path.of(path);
+        } else {
+            file = Files.createTempFile("weatherapp-gazetteer", ".bin");
+            file.toFile().deleteOnExit();
+            try (Reader reader = new InputStreamReader(
+                    new ClassPathResource(BUNDLED_CITIES).getInputStream(), StandardCharsets.UTF_8);
+                 OutputStream out = Files.newOutputStream(file)) {
+                GazetteerWriter.write(GazetteerWriter.readCsv(reader), out);
+            }
+        }
+
+        Gazetteer gazetteer = Gazetteer.open(file);
+        log.info("Offline gazetteer mapped from {} with {} places", file, gazetteer.size());
+        return gazetteer;
+    }
+
+    /**
+     * Keeps the bundled city list in a native image, where classpath resources must be declared.
+     */
+    static class BundledCitiesHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern(BUNDLED_CITIES);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.uzwide.WeatherApp.controller;
+
+import com.uzwide.WeatherApp.dto.request.AlertRuleDTO;
+import com.uzwide.WeatherApp.model.AlertRule;
+import com.uzwide.WeatherApp.model.WeatherAlert;
+import com.uzwide.WeatherApp.service.AlertService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class AlertController {
+    private final AlertService alertService;
+
+    @GetMapping
+    public ResponseEntity<List<WeatherAlert>> getAlerts(
+            @RequestParam(required = false) Long locationId,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(alertService.getAlerts(locationId, limit));
+    }
+
+    @GetMapping("/rules")
+    public ResponseEntity<List<AlertRule>> getRules() {
+        return ResponseEntity.ok(alertService.getRules());
+    }
+
+    @PostMapping("/rules")
+    public ResponseEntity<AlertRule> createRule(@Valid @RequestBody AlertRuleDTO ruleDTO) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(alertService.createRule(ruleDTO));
+    }
+
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        alertService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,13 +1,16 @@
 package com.uzwide.WeatherApp.controller;
 
+import com.uzwide.WeatherApp.dto.response.DailyForecastDTO;
 import com.uzwide.WeatherApp.dto.response.ForecastDTO;
 import com.uzwide.WeatherApp.dto.request.Units;
 import com.uzwide.WeatherApp.service.ForecastService;
+import com.uzwide.WeatherApp.service.UpstreamExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/forecast")
@@ -15,12 +18,20 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ForecastController {
     private final ForecastService forecastService;
+    private final UpstreamExecutor upstreamExecutor;
 
+    // Both complete on the upstream pool, so a slow forecast call does not hold a servlet thread
     @GetMapping("/{locationId}")
-    public ResponseEntity<List<ForecastDTO>> getForecast(
+    public CompletableFuture<ResponseEntity<List<ForecastDTO>>> getForecast(
             @PathVariable Long locationId,
             @RequestParam(defaultValue = "METRIC") Units units) {
-        List<ForecastDTO> forecast = forecastService.getForecast(locationId, units);
-        return ResponseEntity.ok(forecast);
+        return upstreamExecutor.submit(() -> ResponseEntity.ok(forecastService.getForecast(locationId, units)));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{locationId}/daily")
+    public CompletableFuture<ResponseEntity<List<DailyForecastDTO>>> getDailyForecast(
+            @PathVariable Long locationId,
+            @RequestParam(defaultValue = "METRIC") Units units) {
+        return upstreamExecutor.submit(() -> ResponseEntity.ok(forecastService.getDailyForecast(locationId, units)));
+    }
+}
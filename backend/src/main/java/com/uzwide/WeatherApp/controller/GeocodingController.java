@@ -0,0 +1,25 @@
+package com.uzwide.WeatherApp.controller;
+
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import com.uzwide.WeatherApp.service.GeocodingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/geocoding")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class GeocodingController {
+    private final GeocodingService geocodingService;
+
+    @GetMapping("/search")
+    public ResponseEntity<List<GazetteerPlaceDTO>> searchPlaces(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(geocodingService.searchPlaces(query, country, limit));
+    }
+}
@@ -1,17 +1,30 @@
 package com.uzwide.WeatherApp.controller;
 
+import com.uzwide.WeatherApp.cache.WeatherJsonCache;
 import com.uzwide.WeatherApp.dto.request.LocationDTO;
 import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO;
+import com.uzwide.WeatherApp.dto.response.LocationPageDTO;
+import com.uzwide.WeatherApp.dto.response.LocationSuggestionDTO;
+import com.uzwide.WeatherApp.dto.response.WeatherDeltaDTO;
 import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
 import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.service.LocationImportService;
+import com.uzwide.WeatherApp.service.UpstreamExecutor;
 import com.uzwide.WeatherApp.service.WeatherService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/weather")
@@ -19,18 +32,69 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WeatherController {
     private final WeatherService weatherService;
+    private final LocationImportService locationImportService;
+    private final WeatherJsonCache weatherJsonCache;
+    private final UpstreamExecutor upstreamExecutor;
 
+    // Written from pre-serialized fragments; the JSON is the same as serializing the list
     @GetMapping("/locations")
-    public ResponseEntity<List<WeatherResponseDTO>> getAllLocations(
+    public ResponseEntity<byte[]> getAllLocations(
             @RequestParam(defaultValue = "METRIC") Units units) {
-        return ResponseEntity.ok(weatherService.getAllLocationsWithWeather(units));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(weatherJsonCache.array(weatherService.getAllLocationsWithWeather(units), units));
+    }
+
+    @GetMapping(value = "/locations", params = "since")
+    public ResponseEntity<WeatherDeltaDTO> getLocationChanges(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "METRIC") Units units) {
+        return ResponseEntity.ok(weatherService.getLocationChanges(since, units));
+    }
+
+    @GetMapping(value = "/locations", params = "limit")
+    public ResponseEntity<LocationPageDTO> getLocationsPage(
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "METRIC") Units units) {
+        return ResponseEntity.ok(weatherService.getLocationsPage(favorite, country, q, cursor, limit, units));
+    }
+
+    // A cursor without a limit continues with the default page size rather than returning the full list
+    @GetMapping(value = "/locations", params = {"cursor", "!limit"})
+    public ResponseEntity<LocationPageDTO> getNextLocationsPage(
+            @RequestParam(required = false) Boolean favorite,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String q,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "METRIC") Units units) {
+        return getLocationsPage(favorite, country, q, cursor, 50, units);
+    }
+
+    @GetMapping("/locations/search")
+    public ResponseEntity<List<LocationSuggestionDTO>> searchLocations(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(weatherService.searchLocations(query, limit));
     }
 
     @GetMapping("/locations/{id}")
-    public ResponseEntity<WeatherResponseDTO> getLocationWeather(
+    public ResponseEntity<byte[]> getLocationWeather(
             @PathVariable Long id,
-            @RequestParam(defaultValue = "METRIC") Units units) {
-        return ResponseEntity.ok(weatherService.getCurrentWeather(id, units));
+            @RequestParam(defaultValue = "METRIC") Units units,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        WeatherJsonCache.Json json = weatherJsonCache.get(weatherService.getCurrentWeather(id, units), units);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (!weatherJsonCache.isGzipEnabled()) {
+            return response.body(json.bytes());
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.contains("gzip")
+                ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(json.gzipped())
+                : response.body(json.bytes());
     }
 
     @PostMapping("/locations")
@@ -39,6 +103,27 @@ public class WeatherController {
         return ResponseEntity.status(HttpStatus.CREATED).body(location);
     }
 
+    @PostMapping(value = "/locations/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<LocationImportDTO> importLocations(@RequestBody List<LocationDTO> locations) {
+        return accepted(locationImportService.importLocations(locations));
+    }
+
+    @PostMapping(value = "/locations/import", consumes = "text/csv")
+    public ResponseEntity<LocationImportDTO> importLocationsCsv(@RequestBody String csv) {
+        return accepted(locationImportService.importCsv(csv));
+    }
+
+    @GetMapping("/locations/import/{jobId}")
+    public ResponseEntity<LocationImportDTO> getImport(@PathVariable String jobId) {
+        return ResponseEntity.of(locationImportService.getImport(jobId));
+    }
+
+    private ResponseEntity<LocationImportDTO> accepted(LocationImportDTO job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/weather/locations/import/" + job.getJobId()))
+                .body(job);
+    }
+
     @PutMapping("/locations/{id}")
     public ResponseEntity<Location> updateLocation(
             @PathVariable Long id,
@@ -53,11 +138,11 @@ public class WeatherController {
         return ResponseEntity.noContent().build();
     }
 
+    // Completes on the upstream pool; the servlet thread is released while OpenWeatherMap answers
     @PostMapping("/locations/{id}/refresh")
-    public ResponseEntity<WeatherResponseDTO> refreshWeather(
+    public CompletableFuture<ResponseEntity<WeatherResponseDTO>> refreshWeather(
             @PathVariable Long id,
             @RequestParam(defaultValue = "METRIC") Units units) {
-        WeatherResponseDTO weather = weatherService.refreshWeather(id, units);
-        return ResponseEntity.ok(weather);
+        return upstreamExecutor.submit(() -> ResponseEntity.ok(weatherService.refreshWeather(id, units)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.uzwide.WeatherApp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections from streaming replicas in turn, skipping any that is unreachable or
+ * further behind the primary than {@code maxStaleness}; with no usable replica it falls back to the
+ * primary. A background check measures every replica's replay lag each {@code checkInterval}, and a
+ * replica that fails to hand out a connection is dropped until its next successful check.
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements Closeable {
+    /**
+     * Seconds of replay lag. A standby that has replayed everything it received from a streaming
+     * WAL receiver is current however long ago the last commit was; otherwise the age of the last
+     * replayed commit is an upper bound. Reading {@code pg_stat_wal_receiver} needs
+     * {@code pg_read_all_stats}; without it an idle standby looks stale and reads go to the primary.
+     */
+    static final String LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() THEN 0 "
+            + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 'Infinity') END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxStaleness;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService healthCheck;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter unavailableFallbacks;
+    private final Counter errorFallbacks;
+
+    public ReadReplicaDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxStaleness,
+                                 Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxStaleness = maxStaleness;
+        this.checkInterval = checkInterval;
+        this.unavailableFallbacks = meterRegistry.counter("weather.datasource.replica.fallbacks", "reason", "unavailable");
+        this.errorFallbacks = meterRegistry.counter("weather.datasource.replica.fallbacks", "reason", "error");
+        Gauge.builder("weather.datasource.replicas.healthy", this, ReadReplicaDataSource::healthyCount)
+                .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder("weather.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.pool.getPoolName())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        healthCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the periodic health check. Replicas are unused until their first check passes, which
+     * runs straight away in the background so a slow replica cannot hold up startup.
+     */
+    public void start() {
+        healthCheck.scheduleWithFixedDelay(this::checkHealth, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        boolean failed = false;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                log.warn("Read replica {} failed to hand out a connection, routing around it: {}",
+                        replica.pool.getPoolName(), e.getMessage());
+                replica.healthy = false;
+                failed = true;
+            }
+        }
+        (failed ? errorFallbacks : unavailableFallbacks).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the pool's credentials");
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                replica.lagSeconds = resultSet.getDouble(1);
+                replica.healthy = replica.lagSeconds <= maxStaleness.toMillis() / 1000.0;
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                replica.healthy = false;
+            } catch (RuntimeException e) {
+                log.warn("Read replica health check failed: {}", e.getMessage());
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                log.info("Read replica {} is now {} (lag {} s)", replica.pool.getPoolName(),
+                        replica.healthy ? "in use" : "bypassed", replica.lagSeconds);
+            }
+        }
+    }
+
+    int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        healthCheck.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.uzwide.WeatherApp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+
+/**
+ * Sends read-only transactions to {@link ReadReplicaDataSource} and everything else to the primary.
+ * The physical connection is only fetched once the transaction manager has marked it read-only,
+ * which is why the routing sits in a lazy proxy rather than an {@code AbstractRoutingDataSource}:
+ * JPA acquires its connection before the transaction's read-only flag is published.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final HikariDataSource primary;
+    private final ReadReplicaDataSource replicas;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReadReplicaDataSource replicas) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicas);
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+        primary.close();
+    }
+}
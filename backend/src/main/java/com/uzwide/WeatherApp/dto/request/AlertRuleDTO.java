@@ -0,0 +1,28 @@
+package com.uzwide.WeatherApp.dto.request;
+
+import com.uzwide.WeatherApp.model.AlertRule;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class AlertRuleDTO {
+    /** Leave empty for a rule that applies to every location. */
+    private Long locationId;
+
+    @Size(max = 100)
+    private String name;
+
+    @NotNull
+    private AlertRule.Metric metric;
+
+    @NotNull
+    private AlertRule.Operator operator;
+
+    private Double threshold;
+
+    @Size(max = 50)
+    private String condition;
+
+    private Boolean enabled;
+}
@@ -0,0 +1,29 @@
+package com.uzwide.WeatherApp.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One calendar day of the 5-day forecast, in the location's own timezone. The first and last days
+ * are usually partial; {@code intervals} says how many 3-hour steps went into the day.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyForecastDTO implements Serializable {
+    private LocalDate date;
+    private Double minTemperature;
+    private Double maxTemperature;
+    private Double precipitationTotal;
+    private Double precipitationProbability;
+    private String weatherCondition;
+    private String weatherDescription;
+    private String weatherIcon;
+    private int intervals;
+}
@@ -5,13 +5,14 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class ForecastDTO {
+public class ForecastDTO implements Serializable {
     private LocalDateTime forecastTime;
     private Double temperature;
     private Double feelsLike;
@@ -0,0 +1,14 @@
+package com.uzwide.WeatherApp.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class GazetteerPlaceDTO {
+    private String name;
+    private String country;
+    private Double latitude;
+    private Double longitude;
+    private Integer population;
+}
@@ -0,0 +1,46 @@
+package com.uzwide.WeatherApp.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Progress of a bulk location import. Rows are validated, deduplicated and inserted before the
+ * response is sent; initial weather fetches continue in the background until {@code status} is
+ * {@code COMPLETED}.
+ */
+@Data
+@Builder
+public class LocationImportDTO {
+    private String jobId;
+    private JobStatus status;
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private int fetchesPending;
+    private int fetched;
+    private int fetchFailed;
+    private List<Item> items;
+
+    public enum JobStatus { RUNNING, COMPLETED }
+
+    public enum ItemStatus { CREATED, DUPLICATE, INVALID, FAILED }
+
+    public enum FetchStatus { PENDING, FETCHED, FAILED }
+
+    @Data
+    @Builder(toBuilder = true)
+    public static class Item {
+        /** Position in the JSON array, or line number in the CSV file. */
+        private int row;
+        private String name;
+        private String country;
+        private ItemStatus status;
+        private Long locationId;
+        private String message;
+        private FetchStatus fetch;
+    }
+}
@@ -0,0 +1,17 @@
+package com.uzwide.WeatherApp.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of the location list. Pass {@code nextCursor} back as {@code cursor} to get the page
+ * after it; it is null on the last page.
+ */
+@Data
+@Builder
+public class LocationPageDTO {
+    private List<WeatherResponseDTO> items;
+    private String nextCursor;
+}
@@ -0,0 +1,14 @@
+package com.uzwide.WeatherApp.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LocationSuggestionDTO {
+    private Long locationId;
+    private String locationName;
+    private String displayName;
+    private String country;
+    private Boolean isFavorite;
+}
@@ -6,13 +6,14 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserPreferencesDTO {
+public class UserPreferencesDTO implements Serializable {
     private Long id;
     private Units defaultUnits;
     private Integer refreshIntervalMinutes;
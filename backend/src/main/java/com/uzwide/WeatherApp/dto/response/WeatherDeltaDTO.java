@@ -0,0 +1,21 @@
+package com.uzwide.WeatherApp.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Locations changed since a client watermark. {@code full} means the watermark was too old to
+ * answer incrementally: {@code changed} then holds every location and the client should replace
+ * its list rather than merge into it.
+ */
+@Data
+@Builder
+public class WeatherDeltaDTO {
+    private List<WeatherResponseDTO> changed;
+    private List<Long> deleted;
+    private LocalDateTime watermark;
+    private boolean full;
+}
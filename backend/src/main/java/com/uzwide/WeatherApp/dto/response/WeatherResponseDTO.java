@@ -2,11 +2,12 @@ package com.uzwide.WeatherApp.dto.response;
 
 import lombok.Builder;
 import lombok.Data;
+import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
-public class WeatherResponseDTO {
+public class WeatherResponseDTO implements Serializable {
     private Long locationId;
     private String locationName;
     private String displayName;
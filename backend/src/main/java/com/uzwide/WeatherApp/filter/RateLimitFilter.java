@@ -1,5 +1,7 @@
 package com.uzwide.WeatherApp.filter;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +20,11 @@ public class RateLimitFilter extends OncePerRequestFilter {
     private static final long WINDOW_MS = 60_000;
 
     private final ConcurrentHashMap<String, Deque<Long>> requestLog = new ConcurrentHashMap<>();
+    private final Counter rejections;
+
+    public RateLimitFilter(MeterRegistry meterRegistry) {
+        this.rejections = meterRegistry.counter("http.ratelimit.rejections");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -33,6 +40,7 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
 
         if (timestamps.size() >= MAX_REQUESTS) {
+            rejections.increment();
             response.setStatus(429);
             response.setHeader("Retry-After", "60");
             response.setContentType("application/json");
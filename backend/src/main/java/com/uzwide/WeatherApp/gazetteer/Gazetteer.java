@@ -0,0 +1,168 @@
+package com.uzwide.WeatherApp.gazetteer;
+
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import com.uzwide.WeatherApp.service.CountryIndex;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Read-only, memory-mapped offline city database written by {@link GazetteerWriter}.
+ * <p>
+ * Records stay in the page cache rather than on the heap; a lookup binary-searches the sorted
+ * record table and decodes only the rows it returns.
+ */
+public class Gazetteer {
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int poolOffset;
+
+    Gazetteer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != GazetteerWriter.MAGIC || buffer.getInt(4) != GazetteerWriter.VERSION) {
+            throw new IllegalStateException("Not a gazetteer file (unexpected magic or version)");
+        }
+        this.count = buffer.getInt(8);
+        this.poolOffset = buffer.getInt(12);
+    }
+
+    public static Gazetteer open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Gazetteer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Places whose name starts with {@code query}, optionally restricted to a country,
+     * most populous first.
+     * <p>
+     * Every prefix match is ranked, but only the best {@code limit} are kept while scanning, so a
+     * short prefix costs one pass over its matching records and no more memory than the result.
+     */
+    public List<GazetteerPlaceDTO> search(String query, String country, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        byte[] prefix = CountryIndex.normalize(query).getBytes(StandardCharsets.UTF_8);
+
+        // Most populous first; equal populations keep the file's alphabetical order
+        Comparator<Integer> ranking = Comparator.comparingInt(this::population).reversed()
+                .thenComparing(Comparator.naturalOrder());
+        PriorityQueue<Integer> best = new PriorityQueue<>(ranking.reversed());
+        for (int i = lowerBound(prefix); i < count && keyStartsWith(i, prefix); i++) {
+            if (country == null || country.equals(country(i))) {
+                best.add(i);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+
+        return best.stream()
+                .sorted(ranking)
+                .map(this::toPlace)
+                .toList();
+    }
+
+    /**
+     * The most populous place whose name matches exactly, optionally restricted to a country.
+     */
+    public Optional<GazetteerPlaceDTO> resolve(String name, String country) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        byte[] key = CountryIndex.normalize(name).getBytes(StandardCharsets.UTF_8);
+
+        int best = -1;
+        for (int i = lowerBound(key); i < count && keyLength(i) == key.length && keyStartsWith(i, key); i++) {
+            if ((country == null || country.equals(country(i))) && (best < 0 || population(i) > population(best))) {
+                best = i;
+            }
+        }
+        return best < 0 ? Optional.empty() : Optional.of(toPlace(best));
+    }
+
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(mid, key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compareKey(int record, byte[] key) {
+        int offset = poolOffset + buffer.getInt(recordOffset(record));
+        int length = keyLength(record);
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int diff = Byte.toUnsignedInt(buffer.get(offset + i)) - Byte.toUnsignedInt(key[i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - key.length;
+    }
+
+    private boolean keyStartsWith(int record, byte[] prefix) {
+        if (keyLength(record) < prefix.length) {
+            return false;
+        }
+        int offset = poolOffset + buffer.getInt(recordOffset(record));
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(offset + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private GazetteerPlaceDTO toPlace(int record) {
+        int base = recordOffset(record);
+        int nameOffset = poolOffset + buffer.getInt(base) + keyLength(record);
+        byte[] name = new byte[Short.toUnsignedInt(buffer.getShort(base + 6))];
+        buffer.get(nameOffset, name);
+
+        return GazetteerPlaceDTO.builder()
+                .name(new String(name, StandardCharsets.UTF_8))
+                .country(country(record))
+                .latitude((double) buffer.getFloat(base + 12))
+                .longitude((double) buffer.getFloat(base + 16))
+                .population(population(record))
+                .build();
+    }
+
+    private int keyLength(int record) {
+        return Short.toUnsignedInt(buffer.getShort(recordOffset(record) + 4));
+    }
+
+    private String country(int record) {
+        int base = recordOffset(record);
+        return new String(new char[]{(char) buffer.get(base + 8), (char) buffer.get(base + 9)});
+    }
+
+    private int population(int record) {
+        return buffer.getInt(recordOffset(record) + 20);
+    }
+
+    private static int recordOffset(int record) {
+        return GazetteerWriter.HEADER_BYTES + record * GazetteerWriter.RECORD_BYTES;
+    }
+}
@@ -0,0 +1,142 @@
+package com.uzwide.WeatherApp.gazetteer;
+
+import com.uzwide.WeatherApp.service.CountryIndex;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes the binary gazetteer read by {@link Gazetteer}.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header   magic:int  version:int  count:int  poolOffset:int
+ * records  count x 24 bytes, sorted by normalized name
+ *          keyOffset:int  keyLength:short  nameLength:short  country:2 bytes  reserved:short
+ *          latitude:float  longitude:float  population:int
+ * pool     UTF-8 normalized name followed by the display name, per record
+ * </pre>
+ * Run {@link #main} to convert a GeoNames dump ({@code cities500.txt}, {@code allCountries.txt})
+ * or a {@code name,country,latitude,longitude,population} CSV into a gazetteer file.
+ */
+public final class GazetteerWriter {
+    static final int MAGIC = 0x47415A31;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 24;
+
+    private GazetteerWriter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: GazetteerWriter <cities.csv|geonames.txt> <output.bin>");
+            System.exit(1);
+        }
+        Path input = Path.of(args[0]);
+        List<Place> places;
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            places = input.toString().endsWith(".csv") ? readCsv(reader) : readGeoNames(reader);
+        }
+        try (OutputStream out = Files.newOutputStream(Path.of(args[1]))) {
+            write(places, out);
+        }
+        System.out.printf("Wrote %d places to %s%n", places.size(), args[1]);
+    }
+
+    public static List<Place> readCsv(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        List<Place> places = new ArrayList<>();
+        String line = reader.readLine(); // header
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            places.add(new Place(
+                    columns[0].trim(),
+                    columns[1].trim().toUpperCase(Locale.ROOT),
+                    Float.parseFloat(columns[2].trim()),
+                    Float.parseFloat(columns[3].trim()),
+                    Integer.parseInt(columns[4].trim())));
+        }
+        return places;
+    }
+
+    /**
+     * Reads the tab-separated GeoNames "geoname" table, keeping populated places only.
+     */
+    public static List<Place> readGeoNames(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        List<Place> places = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] columns = line.split("\t", -1);
+            if (columns.length < 15 || !"P".equals(columns[6]) || columns[8].length() != 2) {
+                continue;
+            }
+            places.add(new Place(
+                    columns[1],
+                    columns[8],
+                    Float.parseFloat(columns[4]),
+                    Float.parseFloat(columns[5]),
+                    columns[14].isEmpty() ? 0 : (int) Math.min(Long.parseLong(columns[14]), Integer.MAX_VALUE)));
+        }
+        return places;
+    }
+
+    public static void write(List<Place> places, OutputStream target) throws IOException {
+        List<Entry> entries = new ArrayList<>(places.size());
+        for (Place place : places) {
+            entries.add(new Entry(
+                    CountryIndex.normalize(place.name()).getBytes(StandardCharsets.UTF_8),
+                    place.name().getBytes(StandardCharsets.UTF_8),
+                    place));
+        }
+        entries.sort(Comparator.comparing(Entry::key, Arrays::compareUnsigned));
+
+        int poolOffset = HEADER_BYTES + entries.size() * RECORD_BYTES;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(target));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(entries.size());
+        out.writeInt(poolOffset);
+
+        int keyOffset = 0;
+        for (Entry entry : entries) {
+            out.writeInt(keyOffset);
+            out.writeShort(entry.key().length);
+            out.writeShort(entry.name().length);
+            out.writeByte(entry.place().country().charAt(0));
+            out.writeByte(entry.place().country().charAt(1));
+            out.writeShort(0);
+            out.writeFloat(entry.place().latitude());
+            out.writeFloat(entry.place().longitude());
+            out.writeInt(entry.place().population());
+            keyOffset += entry.key().length + entry.name().length;
+        }
+        for (Entry entry : entries) {
+            out.write(entry.key());
+            out.write(entry.name());
+        }
+        out.flush();
+    }
+
+    public record Place(String name, String country, float latitude, float longitude, int population) {
+    }
+
+    private record Entry(byte[] key, byte[] name, Place place) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.uzwide.WeatherApp.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user-defined alert. Numeric metrics compare against {@code threshold} in metric units (°C,
+ * %, hPa, m/s); {@code CONDITION} matches {@code condition} against the reported weather condition.
+ * A rule without a location applies to every location.
+ */
+@Entity
+@Table(name = "alert_rules")
+@Data
+@NoArgsConstructor
+public class AlertRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_id")
+    private Long locationId;
+
+    @Column(length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Metric metric;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Operator operator;
+
+    private Double threshold;
+
+    @Column(name = "condition_value", length = 50)
+    private String condition;
+
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Metric {
+        TEMPERATURE("Temperature"),
+        FEELS_LIKE("Feels like"),
+        HUMIDITY("Humidity"),
+        PRESSURE("Pressure"),
+        WIND_SPEED("Wind speed"),
+        CONDITION("Condition");
+
+        private final String label;
+
+        Metric(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    public enum Operator {
+        /** Fires when the value rises above the threshold. */
+        ABOVE,
+        /** Fires when the value drops below the threshold. */
+        BELOW,
+        /** Fires when the value moved by at least the threshold since the previous reading. */
+        CHANGE,
+        /** Fires when the weather condition turns into {@code condition}. */
+        EQUALS
+    }
+}
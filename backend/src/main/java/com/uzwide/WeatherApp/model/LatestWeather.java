@@ -0,0 +1,68 @@
+package com.uzwide.WeatherApp.model;
+
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.repositories.WeatherConditionConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Copy of the newest {@link WeatherSnapshot} for a location, keyed by location id. It is written in
+ * the same transaction as each snapshot, so current-weather reads are a primary-key lookup however
+ * much history has piled up, and purging old snapshots never loses the current reading.
+ */
+@Entity
+@Table(name = "latest_weather")
+@Data
+@NoArgsConstructor
+public class LatestWeather implements WeatherReading {
+    @Id
+    @Column(name = "location_id")
+    private Long locationId;
+
+    @Column(nullable = false)
+    private Double temperature;
+
+    @Column(name = "feels_like", nullable = false)
+    private Double feelsLike;
+
+    @Column(nullable = false)
+    private Integer humidity;
+
+    @Column(nullable = false)
+    private Integer pressure;
+
+    @Column(name = "wind_speed", nullable = false)
+    private Double windSpeed;
+
+    @Column(name = "wind_direction", nullable = false)
+    private Integer windDirection;
+
+    @Convert(converter = WeatherConditionConverter.class)
+    @Column(name = "condition_id")
+    private WeatherCondition condition;
+
+    @Column(nullable = false)
+    private Integer cloudiness;
+
+    @Column(nullable = false)
+    private Integer visibility;
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt;
+
+    // Upstream observation time; null for readings stored before it was recorded
+    @Column(name = "observed_at")
+    private LocalDateTime observedAt;
+
+    // Units the reading was fetched in; null for readings stored before they were recorded
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Units units;
+
+    // When the row was last written or confirmed, stamped by the database; delta sync compares this
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+}
@@ -3,12 +3,16 @@ package com.uzwide.WeatherApp.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "location")
 @Table(name = "locations")
 @Data
 @NoArgsConstructor
@@ -32,7 +36,7 @@ public class Location {
     @Column(name = "display_name", length = 100)
     private String displayName;
 
-    @Column(name = "is_favorite")
+    @Column(name = "is_favorite", nullable = false)
     private Boolean isFavorite = false;
 
     @CreationTimestamp
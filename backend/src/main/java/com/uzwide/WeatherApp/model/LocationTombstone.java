@@ -0,0 +1,25 @@
+package com.uzwide.WeatherApp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted location so delta-sync clients learn to drop it.
+ */
+@Entity
+@Table(name = "location_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationTombstone {
+    @Id
+    @Column(name = "location_id")
+    private Long locationId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,42 @@
+package com.uzwide.WeatherApp.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An alert raised when a new reading met an {@link AlertRule}.
+ */
+@Entity
+@Table(name = "weather_alerts")
+@Data
+@NoArgsConstructor
+public class WeatherAlert {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rule_id")
+    private Long ruleId;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AlertRule.Metric metric;
+
+    @Column(name = "observed_value")
+    private Double value;
+
+    @Column(name = "previous_value")
+    private Double previousValue;
+
+    @Column(nullable = false)
+    private String message;
+
+    @Column(name = "triggered_at", nullable = false)
+    private LocalDateTime triggeredAt;
+}
@@ -0,0 +1,10 @@
+package com.uzwide.WeatherApp.model;
+
+/**
+ * An entry of the {@code weather_conditions} dictionary: the condition, description and icon a
+ * reading references by id. Entries come from
+ * {@link com.uzwide.WeatherApp.repositories.WeatherConditionDictionary}, which hands out a single
+ * instance per entry, so every reading of the same weather shares one object.
+ */
+public record WeatherCondition(short id, String condition, String description, String icon) {
+}
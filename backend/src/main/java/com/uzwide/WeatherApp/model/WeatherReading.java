@@ -0,0 +1,40 @@
+package com.uzwide.WeatherApp.model;
+
+import com.uzwide.WeatherApp.dto.request.Units;
+import java.time.LocalDateTime;
+
+/**
+ * The observed values shared by a stored {@link WeatherSnapshot} and the {@link LatestWeather} row
+ * that mirrors the newest one.
+ */
+public interface WeatherReading {
+    Double getTemperature();
+
+    Double getFeelsLike();
+
+    Integer getHumidity();
+
+    Integer getPressure();
+
+    Double getWindSpeed();
+
+    WeatherCondition getCondition();
+
+    default String getWeatherCondition() {
+        return getCondition() != null ? getCondition().condition() : null;
+    }
+
+    default String getWeatherDescription() {
+        return getCondition() != null ? getCondition().description() : null;
+    }
+
+    default String getWeatherIcon() {
+        return getCondition() != null ? getCondition().icon() : null;
+    }
+
+    LocalDateTime getFetchedAt();
+
+    LocalDateTime getObservedAt();
+
+    Units getUnits();
+}
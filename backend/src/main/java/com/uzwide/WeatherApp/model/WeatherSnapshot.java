@@ -1,5 +1,7 @@
 package com.uzwide.WeatherApp.model;
 
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.repositories.WeatherConditionConverter;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,7 +13,7 @@ import java.time.LocalDateTime;
 @Table(name = "weather_snapshots")
 @Data
 @NoArgsConstructor
-public class WeatherSnapshot {
+public class WeatherSnapshot implements WeatherReading {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -38,14 +40,9 @@ public class WeatherSnapshot {
     @Column(name = "wind_direction", nullable = false)
     private Integer windDirection;
 
-    @Column(name = "weather_condition", nullable = false, length = 50)
-    private String weatherCondition;
-
-    @Column(name = "weather_description", nullable = false, length = 200)
-    private String weatherDescription;
-
-    @Column(name = "weather_icon", nullable = false, length = 10)
-    private String weatherIcon;
+    @Convert(converter = WeatherConditionConverter.class)
+    @Column(name = "condition_id")
+    private WeatherCondition condition;
 
     @Column(nullable = false)
     private Integer cloudiness;
@@ -56,6 +53,15 @@ public class WeatherSnapshot {
     @Column(name = "fetched_at", nullable = false)
     private LocalDateTime fetchedAt;
 
+    // Upstream observation time; null for readings stored before it was recorded
+    @Column(name = "observed_at")
+    private LocalDateTime observedAt;
+
+    // Units the reading was fetched in; null for readings stored before they were recorded
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Units units;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,14 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.AlertRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+    List<AlertRule> findByEnabledTrue();
+
+    List<AlertRule> findAllByOrderByIdAsc();
+}
@@ -0,0 +1,59 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.LatestWeather;
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LatestWeatherRepository extends JpaRepository<LatestWeather, Long>, LatestWeatherRepositoryCustom {
+    /**
+     * Makes {@code snapshot} the location's current reading unless a newer one is already stored,
+     * so concurrent refreshes finishing out of order cannot move it backwards. The declared query
+     * space keeps Hibernate from treating the native write as touching every table and emptying
+     * the whole second-level cache. {@code updated_at} is stamped by the statement itself, for delta sync.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "latest_weather"))
+    @Query(value = "INSERT INTO latest_weather (location_id, temperature, feels_like, humidity, pressure, wind_speed, "
+            + "wind_direction, condition_id, cloudiness, visibility, fetched_at, observed_at, units, updated_at) "
+            + "VALUES (:#{#snapshot.location.id}, :#{#snapshot.temperature}, :#{#snapshot.feelsLike}, "
+            + ":#{#snapshot.humidity}, :#{#snapshot.pressure}, :#{#snapshot.windSpeed}, :#{#snapshot.windDirection}, "
+            + ":#{#snapshot.condition?.id}, :#{#snapshot.cloudiness}, :#{#snapshot.visibility}, :#{#snapshot.fetchedAt}, "
+            + ":#{#snapshot.observedAt}, :#{#snapshot.units?.name()}, clock_timestamp()::timestamp) "
+            + "ON CONFLICT (location_id) DO UPDATE SET temperature = EXCLUDED.temperature, "
+            + "feels_like = EXCLUDED.feels_like, humidity = EXCLUDED.humidity, pressure = EXCLUDED.pressure, "
+            + "wind_speed = EXCLUDED.wind_speed, wind_direction = EXCLUDED.wind_direction, "
+            + "condition_id = EXCLUDED.condition_id, cloudiness = EXCLUDED.cloudiness, "
+            + "visibility = EXCLUDED.visibility, fetched_at = EXCLUDED.fetched_at, observed_at = EXCLUDED.observed_at, "
+            + "units = EXCLUDED.units, updated_at = EXCLUDED.updated_at "
+            + "WHERE latest_weather.fetched_at <= EXCLUDED.fetched_at", nativeQuery = true)
+    int upsert(WeatherSnapshot snapshot);
+
+    /**
+     * Records that the location's current reading was confirmed at {@code fetchedAt} without
+     * changing it, for a refresh that returned the observation already stored.
+     */
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "latest_weather"))
+    @Query(value = "UPDATE latest_weather SET fetched_at = :fetchedAt, updated_at = clock_timestamp()::timestamp "
+            + "WHERE location_id = :locationId AND fetched_at < :fetchedAt", nativeQuery = true)
+    int touch(Long locationId, LocalDateTime fetchedAt);
+
+    /**
+     * Locations whose current reading was written or confirmed after {@code since}. Compares the write
+     * time rather than {@code fetched_at}, which write-behind stamps before the row is committed.
+     */
+    @Query("SELECT l.locationId FROM LatestWeather l WHERE l.updatedAt > :since")
+    List<Long> findLocationIdsUpdatedAfter(LocalDateTime since);
+}
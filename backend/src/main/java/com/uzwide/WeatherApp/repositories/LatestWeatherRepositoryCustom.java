@@ -0,0 +1,16 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+
+import java.util.List;
+
+/**
+ * Set-based counterpart of {@link LatestWeatherRepository#upsert} for the write-behind pipeline.
+ */
+public interface LatestWeatherRepositoryCustom {
+    /**
+     * Makes each snapshot its location's current reading unless a newer one is stored. At most one
+     * snapshot per location may be passed.
+     */
+    void upsertAll(List<WeatherSnapshot> snapshots);
+}
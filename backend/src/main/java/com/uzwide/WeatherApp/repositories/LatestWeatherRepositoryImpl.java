@@ -0,0 +1,33 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Plain JDBC behind {@link LatestWeatherRepositoryCustom}, one statement for the whole batch.
+ */
+@RequiredArgsConstructor
+public class LatestWeatherRepositoryImpl implements LatestWeatherRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<WeatherSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO latest_weather (location_id, temperature, feels_like, humidity, pressure, "
+                        + "wind_speed, wind_direction, condition_id, cloudiness, visibility, fetched_at, observed_at, units, updated_at) "
+                        + "SELECT *, clock_timestamp()::timestamp FROM " + SnapshotColumns.UNNEST + " "
+                        + "ON CONFLICT (location_id) DO UPDATE SET temperature = EXCLUDED.temperature, "
+                        + "feels_like = EXCLUDED.feels_like, humidity = EXCLUDED.humidity, pressure = EXCLUDED.pressure, "
+                        + "wind_speed = EXCLUDED.wind_speed, wind_direction = EXCLUDED.wind_direction, "
+                        + "condition_id = EXCLUDED.condition_id, cloudiness = EXCLUDED.cloudiness, "
+                        + "visibility = EXCLUDED.visibility, fetched_at = EXCLUDED.fetched_at, "
+                        + "observed_at = EXCLUDED.observed_at, units = EXCLUDED.units, updated_at = EXCLUDED.updated_at "
+                        + "WHERE latest_weather.fetched_at <= EXCLUDED.fetched_at",
+                SnapshotColumns.of(snapshots));
+    }
+}
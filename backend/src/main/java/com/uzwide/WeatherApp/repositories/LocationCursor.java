@@ -0,0 +1,54 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.Location;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+
+/**
+ * Position of a location in the listing order (favorites first, then display name with unnamed
+ * locations last, then name, then id). Sent to clients as an opaque token so the next page starts
+ * straight after this row even if rows before it were added or removed in the meantime.
+ */
+public record LocationCursor(boolean favorite, String displayName, String name, long id) {
+
+    public static LocationCursor of(Location location) {
+        return new LocationCursor(Boolean.TRUE.equals(location.getIsFavorite()), location.getDisplayName(),
+                location.getName(), location.getId());
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeBoolean(favorite);
+            out.writeBoolean(displayName != null);
+            out.writeUTF(displayName != null ? displayName : "");
+            out.writeUTF(name);
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static LocationCursor decode(String token) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            boolean favorite = in.readBoolean();
+            boolean hasDisplayName = in.readBoolean();
+            String displayName = in.readUTF();
+            String name = in.readUTF();
+            long id = in.readLong();
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new LocationCursor(favorite, hasDisplayName ? displayName : null, name, id);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
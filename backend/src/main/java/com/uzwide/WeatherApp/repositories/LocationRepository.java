@@ -4,16 +4,37 @@ import com.uzwide.WeatherApp.model.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LocationRepository extends JpaRepository<Location, Long> {
+public interface LocationRepository extends JpaRepository<Location, Long>, LocationRepositoryCustom {
     Optional<Location> findByNameAndCountry(String name, String country);
 
     @Query("SELECT l FROM Location l ORDER BY l.isFavorite DESC, l.displayName ASC, l.name ASC")
     List<Location> findAllOrdered();
 
     List<Location> findByIsFavoriteTrue();
+
+    List<Location> findByUpdatedAtAfter(LocalDateTime since);
+
+    /**
+     * {@link #findById} in a read-write transaction, so it is answered by the primary even when read
+     * replicas are configured. For lookups that must see a location created moments ago, which a
+     * replica may not have replayed yet.
+     */
+    @Transactional
+    @Query("SELECT l FROM Location l WHERE l.id = :id")
+    Optional<Location> findByIdOnPrimary(Long id);
+
+    /**
+     * Every location, read in a read-write transaction so the primary answers, for rebuilds that must
+     * not miss a location a replica has not replayed yet.
+     */
+    @Transactional
+    @Query("SELECT l FROM Location l")
+    List<Location> findAllOnPrimary();
 }
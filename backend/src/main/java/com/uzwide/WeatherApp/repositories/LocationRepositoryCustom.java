@@ -0,0 +1,30 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.Location;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Location queries that Spring Data cannot derive: set-based statements for bulk import, where one
+ * statement per row would dominate, and the keyset-paginated listing with optional filters.
+ */
+public interface LocationRepositoryCustom {
+    /**
+     * Existing locations matching any of the candidates' name and country, in one query.
+     */
+    List<Location> findExistingByNameAndCountry(List<Location> candidates);
+
+    /**
+     * Inserts the locations with one multi-row statement and sets their generated ids.
+     */
+    List<Location> insertAll(List<Location> locations);
+
+    /**
+     * Up to {@code limit} locations in listing order after {@code after} (from the start when null).
+     * Each filter is skipped when null; {@code namePrefix} matches the start of the name or display
+     * name, ignoring case.
+     */
+    @Transactional(readOnly = true)
+    List<Location> findPage(Boolean favorite, String country, String namePrefix, LocationCursor after, int limit);
+}
@@ -0,0 +1,143 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.Location;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Plain JDBC behind {@link LocationRepositoryCustom}: Hibernate cannot batch inserts into an
+ * IDENTITY column, so rows are passed as arrays and expanded server-side with {@code unnest}. The
+ * listing query is assembled from only the filters in use, so each shape gets its own plan.
+ */
+@RequiredArgsConstructor
+public class LocationRepositoryImpl implements LocationRepositoryCustom {
+    // Matches idx_locations_listing and idx_locations_country_listing column for column
+    private static final String LISTING_KEY =
+            "(NOT is_favorite), (display_name IS NULL), COALESCE(display_name, ''), name, id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Location> findExistingByNameAndCountry(List<Location> candidates) {
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT l.id, l.name, l.country FROM locations l "
+                        + "JOIN unnest(?::text[], ?::text[]) AS c(name, country) ON l.name = c.name AND l.country = c.country",
+                (resultSet, rowNum) -> {
+                    Location location = new Location();
+                    location.setId(resultSet.getLong("id"));
+                    location.setName(resultSet.getString("name"));
+                    location.setCountry(resultSet.getString("country"));
+                    return location;
+                },
+                candidates.stream().map(Location::getName).toArray(String[]::new),
+                candidates.stream().map(Location::getCountry).toArray(String[]::new));
+    }
+
+    @Override
+    public List<Location> insertAll(List<Location> locations) {
+        if (locations.isEmpty()) {
+            return locations;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("INSERT INTO locations (name, country, latitude, longitude, display_name, is_favorite, created_at, updated_at) "
+                        + "SELECT r.name, r.country, r.latitude, r.longitude, r.display_name, r.is_favorite, ?, ? "
+                        + "FROM unnest(?::text[], ?::text[], ?::float8[], ?::float8[], ?::text[], ?::boolean[]) "
+                        + "AS r(name, country, latitude, longitude, display_name, is_favorite) "
+                        + "RETURNING id, name, country",
+                resultSet -> {
+                    ids.put(key(resultSet.getString("name"), resultSet.getString("country")), resultSet.getLong("id"));
+                },
+                Timestamp.valueOf(now), Timestamp.valueOf(now),
+                locations.stream().map(Location::getName).toArray(String[]::new),
+                locations.stream().map(Location::getCountry).toArray(String[]::new),
+                locations.stream().map(Location::getLatitude).toArray(Double[]::new),
+                locations.stream().map(Location::getLongitude).toArray(Double[]::new),
+                locations.stream().map(Location::getDisplayName).toArray(String[]::new),
+                locations.stream().map(Location::getIsFavorite).toArray(Boolean[]::new));
+        for (Location location : locations) {
+            location.setId(ids.get(key(location.getName(), location.getCountry())));
+            location.setCreatedAt(now);
+            location.setUpdatedAt(now);
+        }
+        return locations;
+    }
+
+    @Override
+    public List<Location> findPage(Boolean favorite, String country, String namePrefix, LocationCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT id, name, country, latitude, longitude, display_name, is_favorite, "
+                + "created_at, updated_at FROM locations WHERE TRUE");
+        List<Object> args = new ArrayList<>();
+        if (favorite != null) {
+            sql.append(" AND (NOT is_favorite) = ?");
+            args.add(!favorite);
+        }
+        if (country != null) {
+            sql.append(" AND country = ?");
+            args.add(country);
+        }
+        if (namePrefix != null) {
+            sql.append(" AND (lower(name) LIKE ? OR lower(display_name) LIKE ?)");
+            String pattern = likePrefix(namePrefix);
+            args.add(pattern);
+            args.add(pattern);
+        }
+        if (after != null) {
+            // Led by the (fixed) country, the comparison is estimated from the country's rows and becomes a
+            // range on idx_locations_country_listing; PostgreSQL estimates a row comparison from its first column
+            if (country != null) {
+                sql.append(" AND (country, ").append(LISTING_KEY).append(") > (?, ?, ?, ?, ?, ?)");
+                args.add(country);
+            } else {
+                sql.append(" AND (").append(LISTING_KEY).append(") > (?, ?, ?, ?, ?)");
+            }
+            args.add(!after.favorite());
+            args.add(after.displayName() == null);
+            args.add(after.displayName() != null ? after.displayName() : "");
+            args.add(after.name());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY ").append(LISTING_KEY).append(" LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (resultSet, rowNum) -> mapLocation(resultSet), args.toArray());
+    }
+
+    // Backslash is PostgreSQL's default LIKE escape
+    private static String likePrefix(String prefix) {
+        return prefix.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+
+    private static Location mapLocation(ResultSet resultSet) throws SQLException {
+        Location location = new Location();
+        location.setId(resultSet.getLong("id"));
+        location.setName(resultSet.getString("name"));
+        location.setCountry(resultSet.getString("country"));
+        location.setLatitude(resultSet.getDouble("latitude"));
+        location.setLongitude(resultSet.getDouble("longitude"));
+        location.setDisplayName(resultSet.getString("display_name"));
+        location.setIsFavorite(resultSet.getBoolean("is_favorite"));
+        location.setCreatedAt(resultSet.getTimestamp("created_at").toLocalDateTime());
+        location.setUpdatedAt(resultSet.getTimestamp("updated_at").toLocalDateTime());
+        return location;
+    }
+
+    // Callers dedupe by name and country first, so the pair identifies a returned row
+    private static String key(String name, String country) {
+        return name + '\u0000' + country;
+    }
+}
@@ -0,0 +1,20 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.LocationTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface LocationTombstoneRepository extends JpaRepository<LocationTombstone, Long> {
+    @Query("SELECT t.locationId FROM LocationTombstone t WHERE t.deletedAt > :since")
+    List<Long> findLocationIdsDeletedAfter(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM LocationTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,46 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Column arrays of a list of snapshots, in table column order from {@code location_id} to
+ * {@code units}, to bind to an {@code unnest(...)} of the matching SQL array types.
+ */
+final class SnapshotColumns {
+    static final String UNNEST = "unnest(?::bigint[], ?::float8[], ?::float8[], ?::int[], ?::int[], ?::float8[], "
+            + "?::int[], ?::smallint[], ?::int[], ?::int[], ?::timestamp[], ?::timestamp[], ?::varchar[])";
+
+    private SnapshotColumns() {
+    }
+
+    static Object[] of(List<WeatherSnapshot> snapshots) {
+        return new Object[]{
+                column(snapshots, snapshot -> snapshot.getLocation().getId(), Long[]::new),
+                column(snapshots, WeatherSnapshot::getTemperature, Double[]::new),
+                column(snapshots, WeatherSnapshot::getFeelsLike, Double[]::new),
+                column(snapshots, WeatherSnapshot::getHumidity, Integer[]::new),
+                column(snapshots, WeatherSnapshot::getPressure, Integer[]::new),
+                column(snapshots, WeatherSnapshot::getWindSpeed, Double[]::new),
+                column(snapshots, WeatherSnapshot::getWindDirection, Integer[]::new),
+                column(snapshots, snapshot -> snapshot.getCondition() != null ? snapshot.getCondition().id() : null,
+                        Short[]::new),
+                column(snapshots, WeatherSnapshot::getCloudiness, Integer[]::new),
+                column(snapshots, WeatherSnapshot::getVisibility, Integer[]::new),
+                // ISO text; the driver has no array binding for timestamps
+                column(snapshots, snapshot -> snapshot.getFetchedAt().toString(), String[]::new),
+                column(snapshots, snapshot -> snapshot.getObservedAt() != null ? snapshot.getObservedAt().toString() : null,
+                        String[]::new),
+                column(snapshots, snapshot -> snapshot.getUnits() != null ? snapshot.getUnits().name() : null,
+                        String[]::new)
+        };
+    }
+
+    private static <T> T[] column(List<WeatherSnapshot> snapshots, Function<WeatherSnapshot, T> getter,
+                                  IntFunction<T[]> array) {
+        return snapshots.stream().map(getter).toArray(array);
+    }
+}
@@ -1,12 +1,17 @@
 package com.uzwide.WeatherApp.repositories;
 
 import com.uzwide.WeatherApp.model.UserPreferences;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserPreferencesRepository extends JpaRepository<UserPreferences, Long> {
+    // Read on every scheduler tick; the query cache answers it until preferences are saved
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserPreferences> findFirstByOrderByIdAsc();
 }
@@ -0,0 +1,15 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherAlert;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WeatherAlertRepository extends JpaRepository<WeatherAlert, Long> {
+    List<WeatherAlert> findByOrderByTriggeredAtDesc(Limit limit);
+
+    List<WeatherAlert> findByLocationIdOrderByTriggeredAtDesc(Long locationId, Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherCondition;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps a reading's {@code condition_id} column to its dictionary entry. Hibernate obtains the
+ * converter from Spring, so entities resolve the id through the shared in-memory dictionary.
+ */
+@Converter
+public class WeatherConditionConverter implements AttributeConverter<WeatherCondition, Short> {
+    private final WeatherConditionDictionary dictionary;
+
+    public WeatherConditionConverter(WeatherConditionDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(WeatherCondition condition) {
+        return condition != null ? condition.id() : null;
+    }
+
+    @Override
+    public WeatherCondition convertToEntityAttribute(Short id) {
+        return id != null ? dictionary.get(id) : null;
+    }
+}
@@ -0,0 +1,110 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherCondition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the {@code weather_conditions} dictionary. Entries are loaded the first time they
+ * are needed and kept for the life of the JVM; the vocabulary is a few hundred entries at most and
+ * rows are never changed or removed, so nothing ever goes stale.
+ * <p>
+ * Unknown combinations are added on the caller's connection, never a second one from the pool, so a
+ * saturated pool cannot leave callers waiting on each other. An entry added inside a transaction is
+ * only remembered once that transaction commits; if it rolls back, the next reading adds it again.
+ * Missing strings are stored as empty strings, which the columns allow and lookups can match.
+ */
+@Component
+public class WeatherConditionDictionary {
+    private static final RowMapper<WeatherCondition> ROW_MAPPER = (resultSet, rowNum) -> new WeatherCondition(
+            resultSet.getShort("id"),
+            resultSet.getString("weather_condition"),
+            resultSet.getString("weather_description"),
+            resultSet.getString("weather_icon"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Short, WeatherCondition> byId = new ConcurrentHashMap<>();
+    private final Map<Key, WeatherCondition> byValue = new ConcurrentHashMap<>();
+
+    public WeatherConditionDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The entry for this combination, added to the dictionary if it is new.
+     */
+    public WeatherCondition intern(String condition, String description, String icon) {
+        Key key = new Key(orEmpty(condition), orEmpty(description), orEmpty(icon));
+        WeatherCondition known = byValue.get(key);
+        if (known != null) {
+            return known;
+        }
+        WeatherCondition entry = findOrInsert(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(entry);
+                }
+            });
+            return entry;
+        }
+        return remember(entry);
+    }
+
+    public WeatherCondition get(short id) {
+        WeatherCondition known = byId.get(id);
+        if (known != null) {
+            return known;
+        }
+        List<WeatherCondition> found = jdbcTemplate.query("SELECT id, weather_condition, weather_description, weather_icon "
+                + "FROM weather_conditions WHERE id = ?", ROW_MAPPER, id);
+        if (found.isEmpty()) {
+            throw new IllegalStateException("Unknown weather condition id: " + id);
+        }
+        return remember(found.get(0));
+    }
+
+    // Looked up before inserting: a conflicting insert still uses up an identity value, and ids are smallint.
+    // When a concurrent transaction commits the same entry first, the insert returns nothing and the
+    // second lookup, a new statement, sees that row
+    private WeatherCondition findOrInsert(Key key) {
+        WeatherCondition existing = find(key);
+        if (existing != null) {
+            return existing;
+        }
+        List<WeatherCondition> inserted = jdbcTemplate.query("INSERT INTO weather_conditions "
+                        + "(weather_condition, weather_description, weather_icon) VALUES (?, ?, ?) ON CONFLICT DO NOTHING "
+                        + "RETURNING id, weather_condition, weather_description, weather_icon",
+                ROW_MAPPER, key.condition(), key.description(), key.icon());
+        return inserted.isEmpty() ? find(key) : inserted.get(0);
+    }
+
+    private WeatherCondition find(Key key) {
+        List<WeatherCondition> found = jdbcTemplate.query("SELECT id, weather_condition, weather_description, weather_icon "
+                        + "FROM weather_conditions WHERE weather_condition = ? AND weather_description = ? AND weather_icon = ?",
+                ROW_MAPPER, key.condition(), key.description(), key.icon());
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Keeps whichever instance was stored first, so callers always share one per entry
+    private WeatherCondition remember(WeatherCondition entry) {
+        WeatherCondition shared = byId.computeIfAbsent(entry.id(), id -> entry);
+        byValue.putIfAbsent(new Key(shared.condition(), shared.description(), shared.icon()), shared);
+        return shared;
+    }
+
+    private static String orEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private record Key(String condition, String description, String icon) {
+    }
+}
@@ -8,12 +8,9 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface WeatherSnapshotRepository extends JpaRepository<WeatherSnapshot, Long> {
-    Optional<WeatherSnapshot> findFirstByLocationOrderByFetchedAtDesc(Location location);
-
+public interface WeatherSnapshotRepository extends JpaRepository<WeatherSnapshot, Long>, WeatherSnapshotRepositoryCustom {
     @Query("SELECT w FROM WeatherSnapshot w WHERE w.location = :location AND w.fetchedAt > :since ORDER BY w.fetchedAt DESC")
     List<WeatherSnapshot> findRecentSnapshots(Location location, LocalDateTime since);
 
@@ -0,0 +1,15 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+
+import java.util.List;
+
+/**
+ * Set-based snapshot writes for the write-behind pipeline, which persists many readings at once.
+ */
+public interface WeatherSnapshotRepositoryCustom {
+    /**
+     * Inserts the snapshots with one multi-row statement. Generated ids are not read back.
+     */
+    void insertAll(List<WeatherSnapshot> snapshots);
+}
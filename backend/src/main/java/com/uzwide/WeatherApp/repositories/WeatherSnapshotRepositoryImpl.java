@@ -0,0 +1,33 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plain JDBC behind {@link WeatherSnapshotRepositoryCustom}: Hibernate cannot batch inserts into an
+ * IDENTITY column, so rows are passed as arrays and expanded server-side with {@code unnest}.
+ */
+@RequiredArgsConstructor
+public class WeatherSnapshotRepositoryImpl implements WeatherSnapshotRepositoryCustom {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<WeatherSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(List.of(SnapshotColumns.of(snapshots)));
+        jdbcTemplate.update("INSERT INTO weather_snapshots (created_at, location_id, temperature, feels_like, humidity, "
+                        + "pressure, wind_speed, wind_direction, condition_id, cloudiness, visibility, fetched_at, observed_at, units) "
+                        + "SELECT ?, r.* FROM " + SnapshotColumns.UNNEST + " AS r",
+                args.toArray());
+    }
+}
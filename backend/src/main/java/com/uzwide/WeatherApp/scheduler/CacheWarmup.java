@@ -0,0 +1,146 @@
+package com.uzwide.WeatherApp.scheduler;
+
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.UserPreferencesDTO;
+import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.service.ForecastService;
+import com.uzwide.WeatherApp.service.UpstreamClient;
+import com.uzwide.WeatherApp.service.UserPreferencesService;
+import com.uzwide.WeatherApp.service.WeatherService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the {@code weather} and {@code forecast} caches before the node takes traffic.
+ * <p>
+ * Spring Boot reports the readiness probe as {@code REFUSING_TRAFFIC} until every
+ * {@link ApplicationRunner} has returned, so this runner blocks until warm-up finishes or
+ * {@code weather.warmup.timeout} passes. Work left over at the deadline is cancelled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmup implements ApplicationRunner {
+    private final LocationRepository locationRepository;
+    private final WeatherService weatherService;
+    private final ForecastService forecastService;
+    private final UserPreferencesService userPreferencesService;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${weather.warmup.timeout:30s}")
+    private Duration timeout;
+
+    @Value("${weather.warmup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${weather.warmup.forecast-prefetch:10}")
+    private int forecastPrefetch;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            log.debug("Cache warm-up is disabled");
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Location> locations = prioritizedLocations();
+        Units units = preferredUnits();
+        AtomicInteger weatherEntries = new AtomicInteger();
+        AtomicInteger forecasts = new AtomicInteger();
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        int chunkSize = Math.max(1, (locations.size() + parallelism - 1) / parallelism);
+        for (int from = 0; from < locations.size(); from += chunkSize) {
+            List<Location> chunk = locations.subList(from, Math.min(from + chunkSize, locations.size()));
+            tasks.add(() -> {
+                weatherEntries.addAndGet(warmWeather(chunk, units));
+                return null;
+            });
+        }
+        for (Location location : locations.subList(0, Math.min(forecastPrefetch, locations.size()))) {
+            tasks.add(() -> {
+                UpstreamClient.background(() -> forecastService.getForecast(location.getId(), units));
+                forecasts.incrementAndGet();
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        boolean completed;
+        try {
+            List<Future<Void>> results = executor.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            completed = results.stream().noneMatch(Future::isCancelled);
+            results.stream().filter(result -> !result.isCancelled()).forEach(CacheWarmup::logFailure);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        sample.stop(meterRegistry.timer("weather.warmup.duration", "outcome", completed ? "completed" : "timed_out"));
+        log.info("Cache warm-up {}: {} weather entries for {} locations, {} forecasts prefetched",
+                completed ? "completed" : "stopped at deadline", weatherEntries.get(), locations.size(), forecasts.get());
+    }
+
+    /**
+     * Favorites first, so they are warm even when the deadline cuts the run short.
+     */
+    private List<Location> prioritizedLocations() {
+        Map<Long, Location> ordered = new LinkedHashMap<>();
+        locationRepository.findByIsFavoriteTrue().forEach(location -> ordered.put(location.getId(), location));
+        locationRepository.findAllOrdered().forEach(location -> ordered.putIfAbsent(location.getId(), location));
+        return new ArrayList<>(ordered.values());
+    }
+
+    /**
+     * Stores each reading under the preferred units key of {@link WeatherService#getCurrentWeather}
+     * only. With the shared cache enabled every entry is also an upsert and a notification, so
+     * warming all three units keys would triple that for keys that are rarely requested. Readings
+     * fetched in other units are skipped rather than served under the wrong key; the first request
+     * for those locations loads them.
+     */
+    private int warmWeather(List<Location> chunk, Units units) {
+        Cache cache = cacheManager.getCache("weather");
+        Map<Long, WeatherResponseDTO> latest = weatherService.getLatestWeather(chunk, units);
+        latest.forEach((locationId, weather) -> cache.put(locationId + "_" + units, weather));
+        return latest.size();
+    }
+
+    private Units preferredUnits() {
+        UserPreferencesDTO preferences = userPreferencesService.getUserPreferences();
+        return preferences.getDefaultUnits() != null ? preferences.getDefaultUnits() : Units.METRIC;
+    }
+
+    private static void logFailure(Future<Void> result) {
+        try {
+            result.get();
+        } catch (Exception e) {
+            log.warn("Cache warm-up task failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.uzwide.WeatherApp.scheduler;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Splits scheduled sync work across replicas with PostgreSQL session-level advisory locks.
+ * <p>
+ * Locations are hashed into {@code weather.sync.shards} shards, and a node syncs only the shards
+ * whose lock it holds. Every node also holds a shared membership lock, so the number of live nodes
+ * is visible in {@code pg_locks}. Before each sweep a node releases shards above its fair share
+ * and claims free ones up to it. The locks live on a dedicated connection outside the pool, so
+ * when a node dies its connection closes, PostgreSQL releases its locks, and the survivors claim
+ * those shards on their next sweep. While membership changes, a shard can go unclaimed for one sweep.
+ * <p>
+ * The same happens when only the connection is lost, while this node is still sweeping. A sweep
+ * therefore checks with {@link #holds} before each location and stops once its locks are gone, so
+ * at most the refresh in flight at that moment overlaps with the node that takes the shards over.
+ */
+@Component
+@Slf4j
+public class SyncShardCoordinator implements DisposableBean {
+    /** First advisory-lock key, reserved for the sync scheduler ("WSYC"). */
+    private static final int LOCK_NAMESPACE = 0x57535943;
+    private static final int MEMBERSHIP_KEY = 0;
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final int shardCount;
+    private final TreeSet<Integer> ownedShards = new TreeSet<>();
+    private volatile int ownedShardCount;
+    private Connection connection;
+
+    public SyncShardCoordinator(DataSourceProperties dataSourceProperties,
+                                @Value("${weather.sync.shards:16}") int shardCount,
+                                MeterRegistry meterRegistry) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.shardCount = shardCount;
+        Gauge.builder("weather.sync.shards.owned", this, coordinator -> coordinator.ownedShardCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rebalances and returns the shards this node should sync now, or empty when the coordination
+     * connection is unavailable; the sweep is then skipped rather than risking double work.
+     */
+    public synchronized Optional<ShardAssignment> claim() {
+        try {
+            ensureConnected();
+            int members = Math.max(1, countMembers());
+            int fairShare = (shardCount + members - 1) / members;
+            while (ownedShards.size() > fairShare) {
+                Integer shard = ownedShards.last();
+                execute("SELECT pg_advisory_unlock(?, ?)", shard + 1);
+                ownedShards.remove(shard);
+            }
+            for (int shard = 0; shard < shardCount && ownedShards.size() < fairShare; shard++) {
+                if (!ownedShards.contains(shard) && tryLock(shard + 1)) {
+                    ownedShards.add(shard);
+                }
+            }
+            ownedShardCount = ownedShards.size();
+            log.debug("Sync shards: {} live nodes, fair share {}, owned {}", members, fairShare, ownedShards);
+            return Optional.of(new ShardAssignment(shardCount, Set.copyOf(ownedShards)));
+        } catch (SQLException e) {
+            log.warn("Sync coordination unavailable, skipping this sweep: {}", e.getMessage());
+            close();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether this node still holds the lock of every shard in {@code assignment}. When it does not,
+     * or the connection no longer answers, the connection is closed and the next sweep claims afresh.
+     */
+    public synchronized boolean holds(ShardAssignment assignment) {
+        if (connection == null || !ownedShards.containsAll(assignment.shards())) {
+            return false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND granted AND pid = pg_backend_pid() "
+                        + "AND classid = ? AND objsubid = 2 AND objid = ANY(?)")) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setArray(2, connection.createArrayOf("integer",
+                    assignment.shards().stream().map(shard -> shard + 1).toArray()));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                if (resultSet.getInt(1) == assignment.shards().size()) {
+                    return true;
+                }
+            }
+            log.warn("Sync shard locks were released, stopping the sweep");
+        } catch (SQLException e) {
+            log.warn("Sync coordination connection lost, stopping the sweep: {}", e.getMessage());
+        }
+        close();
+        return false;
+    }
+
+    private void ensureConnected() throws SQLException {
+        if (connection != null && connection.isValid(2)) {
+            return;
+        }
+        close();
+        Properties properties = new Properties();
+        properties.setProperty("user", dataSourceProperties.determineUsername());
+        properties.setProperty("password", dataSourceProperties.determinePassword());
+        // Lets the server notice a vanished host and release its locks
+        properties.setProperty("tcpKeepAlive", "true");
+        connection = DriverManager.getConnection(dataSourceProperties.determineUrl(), properties);
+        execute("SELECT pg_advisory_lock_shared(?, ?)", MEMBERSHIP_KEY);
+    }
+
+    private int countMembers() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND granted "
+                        + "AND classid = ? AND objid = ? AND objsubid = 2")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, MEMBERSHIP_KEY);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        }
+    }
+
+    private boolean tryLock(int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private void execute(String sql, int key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setInt(2, key);
+            statement.execute();
+        }
+    }
+
+    private synchronized void close() {
+        ownedShards.clear();
+        ownedShardCount = 0;
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing sync coordination connection: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // Closing the session releases every lock at once, so peers can take over immediately
+        close();
+    }
+
+    public record ShardAssignment(int shardCount, Set<Integer> shards) {
+        public boolean includes(Long locationId) {
+            return shards.contains((int) Math.floorMod(locationId, (long) shardCount));
+        }
+    }
+}
@@ -4,14 +4,21 @@ import com.uzwide.WeatherApp.dto.request.Units;
 import com.uzwide.WeatherApp.dto.response.UserPreferencesDTO;
 import com.uzwide.WeatherApp.model.Location;
 import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.service.AlertService;
+import com.uzwide.WeatherApp.service.LocationSearchIndex;
+import com.uzwide.WeatherApp.service.UpstreamClient;
 import com.uzwide.WeatherApp.service.UserPreferencesService;
 import com.uzwide.WeatherApp.service.WeatherService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 @RequiredArgsConstructor
@@ -20,6 +27,10 @@ public class WeatherSyncScheduler {
     private final LocationRepository locationRepository;
     private final WeatherService weatherService;
     private final UserPreferencesService userPreferencesService;
+    private final MeterRegistry meterRegistry;
+    private final SyncShardCoordinator shardCoordinator;
+    private final AlertService alertService;
+    private final LocationSearchIndex locationSearchIndex;
 
     @Scheduled(fixedDelayString = "${weather.sync.interval:1800000}")
     public void syncAllLocations() {
@@ -29,20 +40,62 @@ public class WeatherSyncScheduler {
             return;
         }
 
+        Optional<SyncShardCoordinator.ShardAssignment> assignment = shardCoordinator.claim();
+        if (assignment.isEmpty()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
         Units units = preferences.getDefaultUnits() != null ? preferences.getDefaultUnits() : Units.METRIC;
-        List<Location> locations = locationRepository.findAllOrdered();
-        log.info("Scheduled sync started for {} locations", locations.size());
-
-        int success = 0;
-        for (Location location : locations) {
-            try {
-                weatherService.refreshWeather(location.getId(), units);
-                success++;
-            } catch (Exception e) {
-                log.warn("Scheduled sync failed for {}: {}", location.getName(), e.getMessage());
+        // Other replicas sync the locations in the shards this node does not hold
+        List<Location> locations = locationRepository.findAllOrdered().stream()
+                .filter(location -> assignment.get().includes(location.getId()))
+                .toList();
+        log.info("Scheduled sync started for {} locations in shards {}", locations.size(), assignment.get().shards());
+
+        // The sweep's upstream calls share the background lane, never the slots kept for user requests
+        AtomicInteger attempted = new AtomicInteger();
+        AtomicInteger success = new AtomicInteger();
+        UpstreamClient.background(() -> {
+            for (Location location : locations) {
+                // Another node may take over the shards once this node's locks are gone
+                if (!shardCoordinator.holds(assignment.get())) {
+                    break;
+                }
+                attempted.incrementAndGet();
+                try {
+                    weatherService.refreshWeather(location.getId(), units);
+                    success.incrementAndGet();
+                } catch (Exception e) {
+                    log.warn("Scheduled sync failed for {}: {}", location.getName(), e.getMessage());
+                }
             }
+        });
+
+        sample.stop(meterRegistry.timer("weather.sync.duration"));
+        meterRegistry.counter("weather.sync.locations", "result", "success").increment(success.get());
+        meterRegistry.counter("weather.sync.locations", "result", "failure").increment(attempted.get() - success.get());
+        meterRegistry.counter("weather.sync.locations", "result", "abandoned").increment(locations.size() - attempted.get());
+        log.info("Scheduled sync completed: {}/{} locations refreshed", success.get(), locations.size());
+    }
+
+    @Scheduled(fixedDelayString = "${weather.delta.purge-interval:21600000}")
+    public void purgeTombstones() {
+        int purged = weatherService.purgeTombstones();
+        if (purged > 0) {
+            log.info("Purged {} location tombstones past retention", purged);
         }
+    }
+
+    // Picks up rules created or deleted on other replicas
+    @Scheduled(fixedDelayString = "${weather.alerts.reload-interval:60000}")
+    public void reloadAlertRules() {
+        alertService.reloadRules();
+    }
 
-        log.info("Scheduled sync completed: {}/{} locations refreshed", success, locations.size());
+    // Picks up locations added or deleted on other replicas
+    @Scheduled(fixedDelayString = "${weather.search-index.rebuild-interval:60000}")
+    public void rebuildSearchIndex() {
+        locationSearchIndex.rebuild();
     }
 }
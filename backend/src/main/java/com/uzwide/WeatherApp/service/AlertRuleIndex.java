@@ -0,0 +1,160 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.model.AlertRule;
+import com.uzwide.WeatherApp.model.AlertRule.Metric;
+import com.uzwide.WeatherApp.model.WeatherAlert;
+import com.uzwide.WeatherApp.model.WeatherReading;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup of enabled alert rules by location and metric. A reading is only checked against
+ * the rules for its own location and the global ones, so evaluation cost follows the number of
+ * matching rules rather than the total. Changes build a new index, which is swapped in whole.
+ */
+final class AlertRuleIndex {
+    static final AlertRuleIndex EMPTY = new AlertRuleIndex(List.of());
+
+    private final List<AlertRule> rules;
+    private final Map<Long, Map<Metric, List<AlertRule>>> byLocation = new HashMap<>();
+    private final Map<Metric, List<AlertRule>> global = new EnumMap<>(Metric.class);
+
+    AlertRuleIndex(Collection<AlertRule> rules) {
+        this.rules = List.copyOf(rules);
+        for (AlertRule rule : this.rules) {
+            Map<Metric, List<AlertRule>> byMetric = rule.getLocationId() == null
+                    ? global
+                    : byLocation.computeIfAbsent(rule.getLocationId(), id -> new EnumMap<>(Metric.class));
+            byMetric.computeIfAbsent(rule.getMetric(), metric -> new ArrayList<>()).add(rule);
+        }
+    }
+
+    AlertRuleIndex with(AlertRule rule) {
+        List<AlertRule> updated = new ArrayList<>(without(rule.getId()).rules);
+        if (Boolean.TRUE.equals(rule.getEnabled())) {
+            updated.add(rule);
+        }
+        return new AlertRuleIndex(updated);
+    }
+
+    AlertRuleIndex without(Long ruleId) {
+        return new AlertRuleIndex(rules.stream().filter(rule -> !rule.getId().equals(ruleId)).toList());
+    }
+
+    int size() {
+        return rules.size();
+    }
+
+    /**
+     * Alerts raised by moving from {@code previous} (null when there is none) to {@code current}.
+     * Threshold and condition rules fire when the reading crosses into them, not on every reading
+     * that stays there.
+     */
+    List<WeatherAlert> evaluate(long locationId, Observation previous, Observation current, LocalDateTime now) {
+        List<WeatherAlert> alerts = new ArrayList<>(0);
+        evaluate(global, locationId, previous, current, now, alerts);
+        Map<Metric, List<AlertRule>> local = byLocation.get(locationId);
+        if (local != null) {
+            evaluate(local, locationId, previous, current, now, alerts);
+        }
+        return alerts;
+    }
+
+    private static void evaluate(Map<Metric, List<AlertRule>> rules, long locationId, Observation previous,
+                                 Observation current, LocalDateTime now, List<WeatherAlert> alerts) {
+        for (Map.Entry<Metric, List<AlertRule>> entry : rules.entrySet()) {
+            Metric metric = entry.getKey();
+            for (AlertRule rule : entry.getValue()) {
+                String message = metric == Metric.CONDITION
+                        ? conditionMessage(rule, previous, current)
+                        : numericMessage(rule, metric, previous, current);
+                if (message != null) {
+                    WeatherAlert alert = new WeatherAlert();
+                    alert.setRuleId(rule.getId());
+                    alert.setLocationId(locationId);
+                    alert.setMetric(metric);
+                    if (metric != Metric.CONDITION) {
+                        alert.setValue(current.value(metric));
+                        alert.setPreviousValue(previous != null ? previous.value(metric) : null);
+                    }
+                    alert.setMessage(rule.getName() != null ? rule.getName() + ": " + message : message);
+                    alert.setTriggeredAt(now);
+                    alerts.add(alert);
+                }
+            }
+        }
+    }
+
+    private static String numericMessage(AlertRule rule, Metric metric, Observation previous, Observation current) {
+        Double value = current.value(metric);
+        Double before = previous != null ? previous.value(metric) : null;
+        double threshold = rule.getThreshold();
+        if (value == null) {
+            return null;
+        }
+        return switch (rule.getOperator()) {
+            case ABOVE -> value > threshold && (before == null || before <= threshold)
+                    ? String.format("%s above %.1f: %.1f", metric.label(), threshold, value) : null;
+            case BELOW -> value < threshold && (before == null || before >= threshold)
+                    ? String.format("%s below %.1f: %.1f", metric.label(), threshold, value) : null;
+            case CHANGE -> before != null && Math.abs(value - before) >= threshold
+                    ? String.format("%s changed by %.1f (%.1f to %.1f)", metric.label(), value - before, before, value)
+                    : null;
+            case EQUALS -> null;
+        };
+    }
+
+    private static String conditionMessage(AlertRule rule, Observation previous, Observation current) {
+        boolean now = rule.getCondition().equalsIgnoreCase(current.condition());
+        boolean before = previous != null && rule.getCondition().equalsIgnoreCase(previous.condition());
+        return now && !before ? "Condition is " + current.condition() : null;
+    }
+
+    /**
+     * The values alert rules look at, converted to metric units so one threshold holds whichever
+     * units the reading was fetched in.
+     */
+    record Observation(Double temperature, Double feelsLike, Double humidity, Double pressure, Double windSpeed,
+                       String condition) {
+
+        static Observation of(WeatherReading reading, Units units) {
+            return new Observation(
+                    celsius(reading.getTemperature(), units),
+                    celsius(reading.getFeelsLike(), units),
+                    reading.getHumidity() != null ? reading.getHumidity().doubleValue() : null,
+                    reading.getPressure() != null ? reading.getPressure().doubleValue() : null,
+                    reading.getWindSpeed() != null && units == Units.IMPERIAL
+                            ? reading.getWindSpeed() * 0.44704 : reading.getWindSpeed(),
+                    reading.getWeatherCondition());
+        }
+
+        Double value(Metric metric) {
+            return switch (metric) {
+                case TEMPERATURE -> temperature;
+                case FEELS_LIKE -> feelsLike;
+                case HUMIDITY -> humidity;
+                case PRESSURE -> pressure;
+                case WIND_SPEED -> windSpeed;
+                case CONDITION -> null;
+            };
+        }
+
+        private static Double celsius(Double temperature, Units units) {
+            if (temperature == null) {
+                return null;
+            }
+            return switch (units) {
+                case METRIC -> temperature;
+                case IMPERIAL -> (temperature - 32) * 5 / 9;
+                case STANDARD -> temperature - 273.15;
+            };
+        }
+    }
+}
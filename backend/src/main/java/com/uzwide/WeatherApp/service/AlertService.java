@@ -0,0 +1,195 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.request.AlertRuleDTO;
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.exception.AlertRuleNotFoundException;
+import com.uzwide.WeatherApp.exception.LocationNotFoundException;
+import com.uzwide.WeatherApp.model.AlertRule;
+import com.uzwide.WeatherApp.model.AlertRule.Metric;
+import com.uzwide.WeatherApp.model.AlertRule.Operator;
+import com.uzwide.WeatherApp.model.WeatherAlert;
+import com.uzwide.WeatherApp.model.WeatherReading;
+import com.uzwide.WeatherApp.repositories.AlertRuleRepository;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.repositories.WeatherAlertRepository;
+import com.uzwide.WeatherApp.service.AlertRuleIndex.Observation;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Evaluates every new reading against the user's alert rules.
+ * <p>
+ * Rules are held in an in-memory {@link AlertRuleIndex}, so evaluation adds no database work to a
+ * refresh. Triggered alerts are written by a single background thread; when its queue is full,
+ * alerts are dropped and counted rather than holding up the sync sweep. Each node reloads the rules
+ * every {@code weather.alerts.reload-interval} to pick up changes made on other nodes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlertService implements DisposableBean {
+    private static final int MAX_ALERTS = 500;
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final WeatherAlertRepository weatherAlertRepository;
+    private final LocationRepository locationRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Last reading evaluated per location, in metric units; the stored reading is used after a restart
+    private final Map<Long, Observation> lastObserved = new ConcurrentHashMap<>();
+
+    @Value("${weather.alerts.writer-queue:1000}")
+    private int writerQueue;
+
+    private volatile AlertRuleIndex index;
+    private ThreadPoolExecutor writer;
+
+    public List<AlertRule> getRules() {
+        return alertRuleRepository.findAllByOrderByIdAsc();
+    }
+
+    public AlertRule createRule(AlertRuleDTO ruleDTO) {
+        validate(ruleDTO);
+        if (ruleDTO.getLocationId() != null && !locationRepository.existsById(ruleDTO.getLocationId())) {
+            throw new LocationNotFoundException("Location not found with id: " + ruleDTO.getLocationId());
+        }
+
+        AlertRule rule = new AlertRule();
+        rule.setLocationId(ruleDTO.getLocationId());
+        rule.setName(ruleDTO.getName());
+        rule.setMetric(ruleDTO.getMetric());
+        rule.setOperator(ruleDTO.getOperator());
+        rule.setThreshold(ruleDTO.getMetric() == Metric.CONDITION ? null : ruleDTO.getThreshold());
+        rule.setCondition(ruleDTO.getMetric() == Metric.CONDITION ? ruleDTO.getCondition().trim() : null);
+        rule.setEnabled(ruleDTO.getEnabled() != null ? ruleDTO.getEnabled() : true);
+
+        AlertRule saved = alertRuleRepository.save(rule);
+        // Applied locally straight away; a reload could read a replica that has not seen the insert yet
+        updateIndex(current -> current.with(saved));
+        return saved;
+    }
+
+    public void deleteRule(Long id) {
+        if (!alertRuleRepository.existsById(id)) {
+            throw new AlertRuleNotFoundException("Alert rule not found with id: " + id);
+        }
+        alertRuleRepository.deleteById(id);
+        updateIndex(current -> current.without(id));
+    }
+
+    public List<WeatherAlert> getAlerts(Long locationId, int limit) {
+        Limit max = Limit.of(Math.max(1, Math.min(limit, MAX_ALERTS)));
+        return locationId != null
+                ? weatherAlertRepository.findByLocationIdOrderByTriggeredAtDesc(locationId, max)
+                : weatherAlertRepository.findByOrderByTriggeredAtDesc(max);
+    }
+
+    public synchronized void reloadRules() {
+        index = new AlertRuleIndex(alertRuleRepository.findByEnabledTrue());
+    }
+
+    /**
+     * Checks a new reading against the rules for its location and the global rules. {@code previous}
+     * is the stored reading it replaces, used when this node has not evaluated the location before.
+     * It is converted with the units it was fetched in, and ignored when those were not recorded.
+     */
+    public void evaluate(Long locationId, WeatherReading previous, WeatherReading current, Units units) {
+        Observation observation = Observation.of(current, units);
+        Observation before = lastObserved.put(locationId, observation);
+        if (before == null && previous != null && previous.getUnits() != null) {
+            before = Observation.of(previous, previous.getUnits());
+        }
+
+        List<WeatherAlert> alerts = index().evaluate(locationId, before, observation, LocalDateTime.now());
+        if (alerts.isEmpty()) {
+            return;
+        }
+        alerts.forEach(alert -> meterRegistry.counter("weather.alerts.triggered", "metric", alert.getMetric().name())
+                .increment());
+        writer().execute(() -> {
+            try {
+                weatherAlertRepository.saveAll(alerts);
+            } catch (DataAccessException e) {
+                // Typically the location or rule was deleted while the alert was queued
+                log.warn("Failed to store {} alert(s) for location {}: {}", alerts.size(), locationId, e.getMessage());
+            }
+        });
+    }
+
+    public void forget(Long locationId) {
+        lastObserved.remove(locationId);
+    }
+
+    private AlertRuleIndex index() {
+        AlertRuleIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    reloadRules();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private synchronized void updateIndex(UnaryOperator<AlertRuleIndex> change) {
+        index = change.apply(index());
+    }
+
+    private static void validate(AlertRuleDTO rule) {
+        if (rule.getMetric() == Metric.CONDITION) {
+            if (rule.getOperator() != Operator.EQUALS || rule.getCondition() == null || rule.getCondition().isBlank()) {
+                throw new IllegalArgumentException("Condition rules need operator EQUALS and a condition");
+            }
+            return;
+        }
+        if (rule.getOperator() == Operator.EQUALS) {
+            throw new IllegalArgumentException("EQUALS only applies to the CONDITION metric");
+        }
+        if (rule.getThreshold() == null || !Double.isFinite(rule.getThreshold())) {
+            throw new IllegalArgumentException("A threshold is required for " + rule.getMetric());
+        }
+        if (rule.getOperator() == Operator.CHANGE && rule.getThreshold() <= 0) {
+            throw new IllegalArgumentException("A CHANGE threshold must be positive");
+        }
+    }
+
+    private synchronized ThreadPoolExecutor writer() {
+        if (writer == null) {
+            writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(writerQueue),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "alert-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (task, executor) -> meterRegistry.counter("weather.alerts.dropped").increment());
+            Gauge.builder("weather.alerts.queued", writer, executor -> executor.getQueue().size())
+                    .register(meterRegistry);
+        }
+        return writer;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.uzwide.WeatherApp.service;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup of ISO 3166 country codes by English name, alpha-3 code and common alias.
+ * Built once per JVM so that resolving a country name is a single hash lookup.
+ */
+public final class CountryIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s\\-_.,'’]+");
+
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+            Map.entry("USA", "US"),
+            Map.entry("United States of America", "US"),
+            Map.entry("America", "US"),
+            Map.entry("UK", "GB"),
+            Map.entry("Great Britain", "GB"),
+            Map.entry("Britain", "GB"),
+            Map.entry("England", "GB"),
+            Map.entry("Scotland", "GB"),
+            Map.entry("Wales", "GB"),
+            Map.entry("Northern Ireland", "GB"),
+            Map.entry("Holland", "NL"),
+            Map.entry("The Netherlands", "NL"),
+            Map.entry("Czech Republic", "CZ"),
+            Map.entry("Czechia", "CZ"),
+            Map.entry("Russian Federation", "RU"),
+            Map.entry("Russia", "RU"),
+            Map.entry("South Korea", "KR"),
+            Map.entry("Republic of Korea", "KR"),
+            Map.entry("North Korea", "KP"),
+            Map.entry("Ivory Coast", "CI"),
+            Map.entry("Cote d'Ivoire", "CI"),
+            Map.entry("UAE", "AE"),
+            Map.entry("Vatican", "VA"),
+            Map.entry("Burma", "MM"),
+            Map.entry("Swaziland", "SZ"),
+            Map.entry("Eswatini", "SZ"),
+            Map.entry("Macedonia", "MK"),
+            Map.entry("North Macedonia", "MK"),
+            Map.entry("Turkey", "TR"),
+            Map.entry("Turkiye", "TR"),
+            Map.entry("Cape Verde", "CV"),
+            Map.entry("Cabo Verde", "CV"),
+            Map.entry("East Timor", "TL"),
+            Map.entry("DRC", "CD"),
+            Map.entry("DR Congo", "CD"),
+            Map.entry("Democratic Republic of the Congo", "CD"),
+            Map.entry("Republic of the Congo", "CG"),
+            Map.entry("Palestine", "PS"),
+            Map.entry("Syria", "SY"),
+            Map.entry("Laos", "LA"),
+            Map.entry("Vietnam", "VN"),
+            Map.entry("Bolivia", "BO"),
+            Map.entry("Iran", "IR"),
+            Map.entry("Moldova", "MD"),
+            Map.entry("Tanzania", "TZ"),
+            Map.entry("Venezuela", "VE")
+    );
+
+    private static final Map<String, String> CODES_BY_NAME;
+    private static final Map<String, String> NAMES_BY_CODE;
+
+    static {
+        Map<String, String> codesByName = new HashMap<>();
+        Map<String, String> namesByCode = new HashMap<>();
+
+        for (String isoCode : Locale.getISOCountries()) {
+            Locale locale = Locale.of("", isoCode);
+            String displayName = locale.getDisplayCountry(Locale.ENGLISH);
+            namesByCode.put(isoCode, displayName);
+            codesByName.put(normalize(displayName), isoCode);
+            try {
+                codesByName.putIfAbsent(normalize(locale.getISO3Country()), isoCode);
+            } catch (MissingResourceException e) {
+                // No alpha-3 code for this entry; the English name is still indexed
+            }
+        }
+        ALIASES.forEach((alias, isoCode) -> codesByName.putIfAbsent(normalize(alias), isoCode));
+
+        CODES_BY_NAME = Map.copyOf(codesByName);
+        NAMES_BY_CODE = Map.copyOf(namesByCode);
+    }
+
+    private CountryIndex() {
+    }
+
+    /**
+     * Resolves an alpha-2 code, English country name, alpha-3 code or alias to its alpha-2 code.
+     */
+    public static Optional<String> resolve(String country) {
+        if (country == null || country.isBlank()) {
+            return Optional.empty();
+        }
+        String key = normalize(country);
+        if (key.length() == 2) {
+            return Optional.of(key.toUpperCase(Locale.ROOT));
+        }
+        return Optional.ofNullable(CODES_BY_NAME.get(key));
+    }
+
+    /**
+     * Returns the English display name for an alpha-2 code, or the code itself if it is unknown.
+     */
+    public static String displayName(String isoCode) {
+        return NAMES_BY_CODE.getOrDefault(isoCode, isoCode);
+    }
+
+    /**
+     * Case-, accent- and punctuation-insensitive form used for every key in the index.
+     */
+    public static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(stripped).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.uzwide.WeatherApp.service;
 
+import com.uzwide.WeatherApp.dto.response.DailyForecastDTO;
 import com.uzwide.WeatherApp.dto.response.ForecastApiResponseDTO;
 import com.uzwide.WeatherApp.dto.response.ForecastDTO;
 import com.uzwide.WeatherApp.dto.request.Units;
@@ -12,14 +13,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,7 +32,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ForecastService {
     private final LocationRepository locationRepository;
-    private final RestTemplate restTemplate;
+    private final UpstreamClient upstreamClient;
 
     @Value("${weather.api.key}")
     private String apiKey;
@@ -37,8 +40,8 @@ public class ForecastService {
     @Value("${weather.api.base-url}")
     private String apiBaseUrl;
 
+    // Not transactional: a connection held across the upstream call would make the pool the bottleneck
     @Cacheable(value = "forecast", key = "#locationId + '_' + #units")
-    @Transactional(readOnly = true)
     public List<ForecastDTO> getForecast(Long locationId, Units units) {
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(() -> new LocationNotFoundException("Location not found"));
@@ -46,8 +49,25 @@ public class ForecastService {
         return fetchAndSaveForecast(location, units);
     }
 
-    @Transactional
     public List<ForecastDTO> fetchAndSaveForecast(Location location, Units units) {
+        return mapToForecastDTOList(fetchForecast(location, units));
+    }
+
+    /**
+     * Collapses the 3-hour forecast into calendar days of the location's timezone (the upstream
+     * {@code city.timezone} offset, not the server's), cached apart from the raw forecast so the
+     * dashboard can poll it without downloading every step.
+     */
+    @Cacheable(value = "dailyForecast", key = "#locationId + '_' + #units")
+    public List<DailyForecastDTO> getDailyForecast(Long locationId, Units units) {
+        Location location = locationRepository.findById(locationId)
+                .orElseThrow(() -> new LocationNotFoundException("Location not found"));
+
+        return aggregateDaily(fetchForecast(location, units));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ForecastApiResponseDTO fetchForecast(Location location, Units units) {
         try {
             String url = UriComponentsBuilder
                     .fromUriString(apiBaseUrl + "/forecast")
@@ -58,10 +78,9 @@ public class ForecastService {
                     .build()
                     .toUriString();
 
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            Map<String, Object> response = upstreamClient.get(url, Map.class, "forecast");
 
-            ForecastApiResponseDTO forecastApiResponse = mapToForecastApiResponseDTO(response);
-            return mapToForecastDTOList(forecastApiResponse);
+            return mapToForecastApiResponseDTO(response);
 
         } catch (HttpClientErrorException e) {
             log.error("API error for location {}: {}", location.getName(), e.getStatusCode());
@@ -108,7 +127,7 @@ public class ForecastService {
     }
     
     @SuppressWarnings("unchecked")
-    private ForecastApiResponseDTO.ForecastItem mapToForecastItem(Map<String, Object> item) {
+    ForecastApiResponseDTO.ForecastItem mapToForecastItem(Map<String, Object> item) {
         ForecastApiResponseDTO.ForecastItem.ForecastItemBuilder builder = ForecastApiResponseDTO.ForecastItem.builder();
         
         builder.dt(((Number) item.get("dt")).intValue())
@@ -191,7 +210,7 @@ public class ForecastService {
                 .collect(Collectors.toList());
     }
     
-    private ForecastDTO mapToForecastDTO(ForecastApiResponseDTO.ForecastItem item) {
+    ForecastDTO mapToForecastDTO(ForecastApiResponseDTO.ForecastItem item) {
         long timestamp = ((Number) item.getDt()).longValue() * 1000;
         LocalDateTime forecastTime = LocalDateTime.ofInstant(
                 Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
@@ -215,4 +234,81 @@ public class ForecastService {
                 .rainVolume(item.getRain() != null ? item.getRain().get_3h() : null)
                 .build();
     }
-}
\ No newline at end of file
+
+    List<DailyForecastDTO> aggregateDaily(ForecastApiResponseDTO forecastApiResponse) {
+        ZoneOffset offset = forecastApiResponse.getCity() != null
+                ? ZoneOffset.ofTotalSeconds(forecastApiResponse.getCity().getTimezone())
+                : ZoneOffset.UTC;
+        Map<LocalDate, DayAccumulator> days = new LinkedHashMap<>();
+        for (ForecastApiResponseDTO.ForecastItem item : forecastApiResponse.getList()) {
+            LocalDate date = LocalDate.ofInstant(Instant.ofEpochSecond(item.getDt()), offset);
+            days.computeIfAbsent(date, DayAccumulator::new).add(item);
+        }
+        List<DailyForecastDTO> daily = new ArrayList<>(days.size());
+        days.values().forEach(day -> daily.add(day.toDTO()));
+        return daily;
+    }
+
+    /**
+     * Running totals for one day. The dominant condition is the most frequent one, ties going to
+     * the condition seen first; its description and icon come from a daytime step when there is one.
+     */
+    private static final class DayAccumulator {
+        private final LocalDate date;
+        private final Map<String, Integer> conditionCounts = new LinkedHashMap<>();
+        private final Map<String, ForecastApiResponseDTO.Weather> firstSamples = new LinkedHashMap<>();
+        private final Map<String, ForecastApiResponseDTO.Weather> daytimeSamples = new LinkedHashMap<>();
+        private double minTemperature = Double.POSITIVE_INFINITY;
+        private double maxTemperature = Double.NEGATIVE_INFINITY;
+        private double precipitationTotal;
+        private double precipitationProbability;
+        private int intervals;
+
+        DayAccumulator(LocalDate date) {
+            this.date = date;
+        }
+
+        void add(ForecastApiResponseDTO.ForecastItem item) {
+            intervals++;
+            if (item.getMain() != null) {
+                minTemperature = Math.min(minTemperature, item.getMain().getTemp_min());
+                maxTemperature = Math.max(maxTemperature, item.getMain().getTemp_max());
+            }
+            if (item.getRain() != null) {
+                precipitationTotal += item.getRain().get_3h();
+            }
+            precipitationProbability = Math.max(precipitationProbability, item.getPop());
+            if (item.getWeather() != null && !item.getWeather().isEmpty()) {
+                ForecastApiResponseDTO.Weather weather = item.getWeather().get(0);
+                conditionCounts.merge(weather.getMain(), 1, Integer::sum);
+                firstSamples.putIfAbsent(weather.getMain(), weather);
+                if (item.getSys() != null && "d".equals(item.getSys().getPod())) {
+                    daytimeSamples.putIfAbsent(weather.getMain(), weather);
+                }
+            }
+        }
+
+        DailyForecastDTO toDTO() {
+            String dominant = null;
+            int dominantCount = 0;
+            for (Map.Entry<String, Integer> entry : conditionCounts.entrySet()) {
+                if (entry.getValue() > dominantCount) {
+                    dominant = entry.getKey();
+                    dominantCount = entry.getValue();
+                }
+            }
+            ForecastApiResponseDTO.Weather sample = daytimeSamples.getOrDefault(dominant, firstSamples.get(dominant));
+            return DailyForecastDTO.builder()
+                    .date(date)
+                    .minTemperature(Double.isInfinite(minTemperature) ? null : minTemperature)
+                    .maxTemperature(Double.isInfinite(maxTemperature) ? null : maxTemperature)
+                    .precipitationTotal(precipitationTotal)
+                    .precipitationProbability(precipitationProbability)
+                    .weatherCondition(dominant)
+                    .weatherDescription(sample != null ? sample.getDescription() : null)
+                    .weatherIcon(sample != null ? sample.getIcon() : null)
+                    .intervals(intervals)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import com.uzwide.WeatherApp.gazetteer.Gazetteer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class GeocodingService {
+    private static final int MAX_RESULTS = 50;
+
+    private final Gazetteer gazetteer;
+
+    public List<GazetteerPlaceDTO> searchPlaces(String query, String country, int limit) {
+        return gazetteer.search(query, toCountryCode(country), Math.min(limit, MAX_RESULTS));
+    }
+
+    public Optional<GazetteerPlaceDTO> resolve(String name, String countryCode) {
+        return gazetteer.resolve(name, countryCode);
+    }
+
+    private String toCountryCode(String country) {
+        if (country == null || country.isBlank()) {
+            return null;
+        }
+        return CountryIndex.resolve(country)
+                .orElseThrow(() -> new IllegalArgumentException("Unrecognized country: " + country));
+    }
+}
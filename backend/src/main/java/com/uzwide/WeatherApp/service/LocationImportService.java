@@ -0,0 +1,384 @@
+package com.uzwide.WeatherApp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uzwide.WeatherApp.dto.request.LocationDTO;
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO.FetchStatus;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO.Item;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO.ItemStatus;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk location import from JSON or CSV.
+ * <p>
+ * Rows are validated, checked against existing locations with one query and inserted in
+ * multi-row batches before the call returns. The initial weather fetch for each new location then
+ * runs on a small fixed pool, so a large import cannot flood the upstream API. Jobs are kept in
+ * memory for an hour and can be polled by id on the node that ran them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocationImportService implements DisposableBean {
+    private static final int MAX_NAME_LENGTH = 100;
+
+    private final LocationRepository locationRepository;
+    private final WeatherService weatherService;
+    private final GeocodingService geocodingService;
+    private final LocationSearchIndex locationSearchIndex;
+    private final MeterRegistry meterRegistry;
+
+    private final Cache<String, ImportJob> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    @Value("${weather.import.max-items:5000}")
+    private int maxItems;
+
+    @Value("${weather.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${weather.import.fetch-concurrency:4}")
+    private int fetchConcurrency;
+
+    private ExecutorService fetchExecutor;
+
+    public LocationImportDTO importLocations(List<LocationDTO> locations) {
+        List<ImportRow> rows = new ArrayList<>(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            rows.add(new ImportRow(i, locations.get(i), null));
+        }
+        return importRows(rows);
+    }
+
+    public LocationImportDTO importCsv(String csv) {
+        return importRows(parseCsv(csv));
+    }
+
+    public Optional<LocationImportDTO> getImport(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(ImportJob::snapshot);
+    }
+
+    private LocationImportDTO importRows(List<ImportRow> rows) {
+        if (rows.size() > maxItems) {
+            throw new IllegalArgumentException(
+                    String.format("An import may contain at most %d locations, got %d", maxItems, rows.size()));
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString());
+        Map<String, Location> candidates = new LinkedHashMap<>();
+        Map<String, Item> itemsByKey = new HashMap<>();
+        for (ImportRow row : rows) {
+            LocationDTO dto = row.location();
+            Item item = Item.builder()
+                    .row(row.row())
+                    .name(dto != null ? dto.getName() : null)
+                    .country(dto != null ? dto.getCountry() : null)
+                    .build();
+            job.items.add(item);
+            if (row.error() != null) {
+                reject(item, ItemStatus.INVALID, row.error());
+                continue;
+            }
+            try {
+                Location location = toLocation(dto);
+                String key = key(location);
+                if (candidates.containsKey(key)) {
+                    reject(item, ItemStatus.DUPLICATE, "Repeats an earlier row of this import");
+                } else {
+                    candidates.put(key, location);
+                    itemsByKey.put(key, item);
+                }
+            } catch (IllegalArgumentException e) {
+                reject(item, ItemStatus.INVALID, e.getMessage());
+            }
+        }
+
+        for (Location existing : locationRepository.findExistingByNameAndCountry(List.copyOf(candidates.values()))) {
+            String key = key(existing);
+            candidates.remove(key);
+            Item item = itemsByKey.get(key);
+            reject(item, ItemStatus.DUPLICATE, "Location already exists");
+            item.setLocationId(existing.getId());
+        }
+
+        List<Location> inserted = insertInBatches(List.copyOf(candidates.values()), itemsByKey);
+        locationSearchIndex.putAll(inserted);
+        jobs.put(job.id, job);
+        inserted.forEach(location -> scheduleInitialFetch(job, itemsByKey.get(key(location)), location.getId()));
+
+        LocationImportDTO result = job.snapshot();
+        meterRegistry.counter("weather.import.items", "status", "created").increment(result.getCreated());
+        meterRegistry.counter("weather.import.items", "status", "duplicate").increment(result.getDuplicates());
+        meterRegistry.counter("weather.import.items", "status", "invalid").increment(result.getInvalid());
+        meterRegistry.counter("weather.import.items", "status", "failed").increment(result.getFailed());
+        log.info("Location import {}: {} rows, {} created, {} duplicates, {} invalid, {} failed", job.id,
+                result.getTotal(), result.getCreated(), result.getDuplicates(), result.getInvalid(), result.getFailed());
+        return result;
+    }
+
+    private List<Location> insertInBatches(List<Location> locations, Map<String, Item> itemsByKey) {
+        List<Location> inserted = new ArrayList<>(locations.size());
+        for (int from = 0; from < locations.size(); from += batchSize) {
+            List<Location> batch = locations.subList(from, Math.min(from + batchSize, locations.size()));
+            try {
+                for (Location location : locationRepository.insertAll(batch)) {
+                    Item item = itemsByKey.get(key(location));
+                    item.setStatus(ItemStatus.CREATED);
+                    item.setLocationId(location.getId());
+                    item.setFetch(FetchStatus.PENDING);
+                    inserted.add(location);
+                }
+            } catch (DataAccessException e) {
+                log.warn("Location import batch of {} failed: {}", batch.size(), e.getMessage());
+                batch.forEach(location -> reject(itemsByKey.get(key(location)), ItemStatus.FAILED,
+                        "Could not be saved: " + e.getMostSpecificCause().getMessage()));
+            }
+        }
+        return inserted;
+    }
+
+    private void scheduleInitialFetch(ImportJob job, Item item, Long locationId) {
+        executor().submit(() -> UpstreamClient.background(() -> {
+            boolean fetched;
+            try {
+                weatherService.refreshWeather(locationId, Units.METRIC);
+                fetched = true;
+            } catch (Exception e) {
+                log.warn("Initial weather fetch failed for imported location {}: {}", locationId, e.getMessage());
+                fetched = false;
+            }
+            job.fetchDone(item, fetched);
+        }));
+    }
+
+    private synchronized ExecutorService executor() {
+        if (fetchExecutor == null) {
+            AtomicInteger threads = new AtomicInteger();
+            fetchExecutor = Executors.newFixedThreadPool(fetchConcurrency, runnable -> {
+                Thread thread = new Thread(runnable, "location-import-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return fetchExecutor;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (fetchExecutor != null) {
+            fetchExecutor.shutdownNow();
+        }
+    }
+
+    private Location toLocation(LocationDTO dto) {
+        if (dto == null || dto.getName() == null || dto.getName().isBlank()) {
+            throw new IllegalArgumentException("Name is required");
+        }
+        String name = dto.getName().trim();
+        if (name.length() > MAX_NAME_LENGTH || (dto.getDisplayName() != null && dto.getDisplayName().length() > MAX_NAME_LENGTH)) {
+            throw new IllegalArgumentException("Name and display name must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        String country = weatherService.normalizeCountryCode(dto.getCountry());
+
+        Double latitude = dto.getLatitude();
+        Double longitude = dto.getLongitude();
+        if (latitude == null || longitude == null) {
+            GazetteerPlaceDTO place = geocodingService.resolve(name, country)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            String.format("Coordinates are required: %s, %s is not in the offline gazetteer", name, country)));
+            latitude = place.getLatitude();
+            longitude = place.getLongitude();
+        }
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new IllegalArgumentException("Coordinates are out of range");
+        }
+
+        Location location = new Location();
+        location.setName(name);
+        location.setCountry(country);
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        location.setDisplayName(dto.getDisplayName());
+        location.setIsFavorite(dto.getIsFavorite() != null ? dto.getIsFavorite() : false);
+        return location;
+    }
+
+    private static void reject(Item item, ItemStatus status, String message) {
+        item.setStatus(status);
+        item.setMessage(message);
+    }
+
+    private static String key(Location location) {
+        return location.getName() + '\u0000' + location.getCountry();
+    }
+
+    /**
+     * Reads a CSV file with a header row naming at least {@code name} and {@code country}; the
+     * optional columns are {@code latitude}, {@code longitude}, {@code displayName} and
+     * {@code isFavorite}. Fields may be double-quoted. A row that cannot be read becomes an
+     * invalid item rather than failing the import.
+     */
+    static List<ImportRow> parseCsv(String csv) {
+        List<CsvRecord> records = readRecords(csv);
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = records.get(0).fields();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("country")) {
+            throw new IllegalArgumentException("CSV header must include name and country columns");
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        for (CsvRecord record : records.subList(1, records.size())) {
+            LocationDTO dto = new LocationDTO();
+            dto.setName(field(record, columns, "name"));
+            dto.setCountry(field(record, columns, "country"));
+            dto.setDisplayName(field(record, columns, "displayname"));
+            try {
+                dto.setLatitude(number(field(record, columns, "latitude")));
+                dto.setLongitude(number(field(record, columns, "longitude")));
+                String favorite = field(record, columns, "isfavorite");
+                dto.setIsFavorite(favorite != null ? Boolean.parseBoolean(favorite) : null);
+                rows.add(new ImportRow(record.line(), dto, null));
+            } catch (NumberFormatException e) {
+                rows.add(new ImportRow(record.line(), dto, "Latitude and longitude must be numbers"));
+            }
+        }
+        return rows;
+    }
+
+    private static String field(CsvRecord record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.fields().size()) {
+            return null;
+        }
+        String value = record.fields().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Double number(String value) {
+        return value != null ? Double.valueOf(value) : null;
+    }
+
+    private static List<CsvRecord> readRecords(String csv) {
+        List<CsvRecord> records = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int line = 1;
+        int recordLine = 1;
+        for (int i = 0; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                field.setLength(0);
+                addRecord(records, fields, recordLine);
+                fields = new ArrayList<>();
+                recordLine = ++line;
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        addRecord(records, fields, recordLine);
+        return records;
+    }
+
+    private static void addRecord(List<CsvRecord> records, List<String> fields, int line) {
+        boolean blank = fields.stream().allMatch(String::isBlank);
+        if (!blank) {
+            records.add(new CsvRecord(line, fields));
+        }
+    }
+
+    record ImportRow(int row, LocationDTO location, String error) {
+    }
+
+    private record CsvRecord(int line, List<String> fields) {
+    }
+
+    private static final class ImportJob {
+        private final String id;
+        private final List<Item> items = new ArrayList<>();
+
+        private ImportJob(String id) {
+            this.id = id;
+        }
+
+        synchronized void fetchDone(Item item, boolean fetched) {
+            item.setFetch(fetched ? FetchStatus.FETCHED : FetchStatus.FAILED);
+        }
+
+        synchronized LocationImportDTO snapshot() {
+            Map<Object, Integer> counts = new HashMap<>();
+            List<Item> copies = new ArrayList<>(items.size());
+            for (Item item : items) {
+                counts.merge(item.getStatus(), 1, Integer::sum);
+                if (item.getFetch() != null) {
+                    counts.merge(item.getFetch(), 1, Integer::sum);
+                }
+                copies.add(item.toBuilder().build());
+            }
+            int pending = counts.getOrDefault(FetchStatus.PENDING, 0);
+            return LocationImportDTO.builder()
+                    .jobId(id)
+                    .status(pending > 0 ? LocationImportDTO.JobStatus.RUNNING : LocationImportDTO.JobStatus.COMPLETED)
+                    .total(items.size())
+                    .created(counts.getOrDefault(ItemStatus.CREATED, 0))
+                    .duplicates(counts.getOrDefault(ItemStatus.DUPLICATE, 0))
+                    .invalid(counts.getOrDefault(ItemStatus.INVALID, 0))
+                    .failed(counts.getOrDefault(ItemStatus.FAILED, 0))
+                    .fetchesPending(pending)
+                    .fetched(counts.getOrDefault(FetchStatus.FETCHED, 0))
+                    .fetchFailed(counts.getOrDefault(FetchStatus.FAILED, 0))
+                    .items(copies)
+                    .build();
+        }
+    }
+}
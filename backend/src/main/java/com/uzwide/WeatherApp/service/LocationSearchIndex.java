@@ -0,0 +1,208 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.response.LocationSuggestionDTO;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-memory prefix index over location name, display name and country for search-as-you-type.
+ * <p>
+ * Reads binary-search an immutable sorted key array and never touch the database. Writes are
+ * rare, so each one rebuilds the array under a lock and publishes it with a volatile swap.
+ * Changes made inside a transaction are applied only once it commits.
+ * <p>
+ * Only this node's changes arrive that way, so the index is also rebuilt from the primary on a
+ * schedule to pick up locations added or deleted on other replicas. The rebuild queries without
+ * holding the lock, and changes committed while it runs are replayed over its result.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationSearchIndex {
+    public static final int MAX_RESULTS = 50;
+
+    private final LocationRepository locationRepository;
+
+    private final Map<Long, LocationSuggestionDTO> locations = new HashMap<>();
+    private final Object rebuildLock = new Object();
+    private List<Consumer<Map<Long, LocationSuggestionDTO>>> replay;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                replay = new ArrayList<>();
+            }
+            try {
+                List<Location> all = locationRepository.findAllOnPrimary();
+                synchronized (this) {
+                    locations.clear();
+                    all.forEach(location -> locations.put(location.getId(), toSuggestion(location)));
+                    replay.forEach(change -> change.accept(locations));
+                    snapshot = Snapshot.of(locations.values());
+                    log.debug("Location search index rebuilt with {} locations", locations.size());
+                }
+            } finally {
+                synchronized (this) {
+                    replay = null;
+                }
+            }
+        }
+    }
+
+    public List<LocationSuggestionDTO> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+
+        String prefix = CountryIndex.normalize(query);
+        Snapshot current = snapshot;
+        Map<Long, LocationSuggestionDTO> matches = new LinkedHashMap<>();
+        int max = Math.min(limit, MAX_RESULTS);
+
+        for (int i = current.lowerBound(prefix); i < current.keys.length && matches.size() < max; i++) {
+            if (!current.keys[i].startsWith(prefix)) {
+                break;
+            }
+            LocationSuggestionDTO target = current.targets[i];
+            matches.putIfAbsent(target.getLocationId(), target);
+        }
+
+        return new ArrayList<>(matches.values());
+    }
+
+    public void put(Location location) {
+        putAll(List.of(location));
+    }
+
+    public void putAll(Collection<Location> updated) {
+        List<LocationSuggestionDTO> suggestions = updated.stream().map(this::toSuggestion).toList();
+        apply(index -> suggestions.forEach(suggestion -> index.put(suggestion.getLocationId(), suggestion)));
+    }
+
+    public void remove(Long locationId) {
+        apply(index -> index.remove(locationId));
+    }
+
+    private void apply(Consumer<Map<Long, LocationSuggestionDTO>> change) {
+        afterCommit(() -> {
+            synchronized (this) {
+                change.accept(locations);
+                if (replay != null) {
+                    replay.add(change);
+                }
+                snapshot = Snapshot.of(locations.values());
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private LocationSuggestionDTO toSuggestion(Location location) {
+        return LocationSuggestionDTO.builder()
+                .locationId(location.getId())
+                .locationName(location.getName())
+                .displayName(location.getDisplayName())
+                .country(location.getCountry())
+                .isFavorite(location.getIsFavorite())
+                .build();
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new String[0], new LocationSuggestionDTO[0]);
+
+        final String[] keys;
+        final LocationSuggestionDTO[] targets;
+
+        private Snapshot(String[] keys, LocationSuggestionDTO[] targets) {
+            this.keys = keys;
+            this.targets = targets;
+        }
+
+        static Snapshot of(Collection<LocationSuggestionDTO> suggestions) {
+            List<Map.Entry<String, LocationSuggestionDTO>> entries = new ArrayList<>();
+            for (LocationSuggestionDTO suggestion : suggestions) {
+                for (String key : keysFor(suggestion)) {
+                    entries.add(Map.entry(key, suggestion));
+                }
+            }
+            entries.sort(Map.Entry.comparingByKey(Comparator.naturalOrder()));
+
+            String[] keys = new String[entries.size()];
+            LocationSuggestionDTO[] targets = new LocationSuggestionDTO[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                keys[i] = entries.get(i).getKey();
+                targets[i] = entries.get(i).getValue();
+            }
+            return new Snapshot(keys, targets);
+        }
+
+        /**
+         * Every field is indexed from its start and from the start of each following word,
+         * so "town" finds "Cape Town" and "africa" finds locations in South Africa.
+         */
+        private static Set<String> keysFor(LocationSuggestionDTO suggestion) {
+            Set<String> keys = new LinkedHashSet<>();
+            for (String field : Arrays.asList(
+                    suggestion.getLocationName(),
+                    suggestion.getDisplayName(),
+                    suggestion.getCountry(),
+                    suggestion.getCountry() != null ? CountryIndex.displayName(suggestion.getCountry()) : null)) {
+                if (field == null || field.isBlank()) {
+                    continue;
+                }
+                String normalized = CountryIndex.normalize(field);
+                keys.add(normalized);
+                for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+                    keys.add(normalized.substring(i + 1));
+                }
+            }
+            return keys;
+        }
+
+        int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
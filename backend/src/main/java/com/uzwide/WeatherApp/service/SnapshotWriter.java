@@ -0,0 +1,213 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import com.uzwide.WeatherApp.repositories.LatestWeatherRepository;
+import com.uzwide.WeatherApp.repositories.WeatherSnapshotRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores fetched snapshots together with the location's current reading.
+ * <p>
+ * By default each snapshot is written in its own short transaction before the refresh returns. With
+ * {@code weather.snapshots.write-behind.enabled} snapshots are queued instead, and a background
+ * writer stores up to {@code batch-size} of them per transaction with one statement per table, so a
+ * refresh no longer waits for the database. When the queue is full a caller waits up to
+ * {@code max-wait} for room and then writes its own snapshot, which slows refreshes to the pace the
+ * database can take without losing readings. The queue is drained on shutdown once the web server
+ * has stopped taking requests.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotWriter implements SmartLifecycle {
+    private final WeatherSnapshotRepository weatherSnapshotRepository;
+    private final LatestWeatherRepository latestWeatherRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.snapshots.write-behind.enabled:false}")
+    private boolean writeBehind;
+
+    @Value("${weather.snapshots.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${weather.snapshots.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${weather.snapshots.write-behind.max-wait:1s}")
+    private Duration maxWait;
+
+    @Value("${weather.snapshots.write-behind.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private BlockingQueue<WeatherSnapshot> queue;
+    private Thread writer;
+    private volatile boolean accepting;
+
+    public void write(WeatherSnapshot snapshot) {
+        if (accepting && enqueue(snapshot)) {
+            return;
+        }
+        // History and current reading commit together; only this short write holds a connection
+        transactionTemplate.executeWithoutResult(status -> {
+            weatherSnapshotRepository.save(snapshot);
+            latestWeatherRepository.upsert(snapshot);
+        });
+        meterRegistry.counter("weather.snapshots.inserted").increment();
+    }
+
+    private boolean enqueue(WeatherSnapshot snapshot) {
+        try {
+            if (queue.offer(snapshot, maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        meterRegistry.counter("weather.snapshots.overflow").increment();
+        return false;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!writeBehind || writer != null) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("weather.snapshots.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+        writer = new Thread(this::drain, "snapshot-writer");
+        accepting = true;
+        writer.start();
+        log.info("Write-behind snapshot persistence enabled: queue {}, batches of {}", queueCapacity, batchSize);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (writer == null) {
+            return;
+        }
+        accepting = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.warn("Snapshot writer did not drain within {}; {} snapshot(s) not stored", shutdownTimeout, queue.size());
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Stops after the web server, so no request can enqueue behind the final drain
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        try {
+            while (accepting || !queue.isEmpty()) {
+                WeatherSnapshot first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<WeatherSnapshot> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    // Never let one batch end the writer; the queue would stop draining for good
+                    log.error("Snapshot batch of {} could not be written", batch.size(), e);
+                    meterRegistry.counter("weather.snapshots.dropped").increment(batch.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void flush(List<WeatherSnapshot> batch) throws InterruptedException {
+        if (store(batch) == null) {
+            return;
+        }
+        // Some row can never be stored, usually a location deleted while its snapshot was queued;
+        // only those rows are lost
+        for (WeatherSnapshot snapshot : batch) {
+            RuntimeException failure = store(List.of(snapshot));
+            if (failure != null) {
+                log.warn("Dropping snapshot for location {}: {}", locationId(snapshot), failure.getMessage());
+                meterRegistry.counter("weather.snapshots.dropped").increment();
+            }
+        }
+    }
+
+    /**
+     * Writes {@code batch}, retrying with backoff while the database or a transaction is unavailable.
+     * Returns the failure when the rows themselves cannot be stored, or null once they are.
+     */
+    private RuntimeException store(List<WeatherSnapshot> batch) throws InterruptedException {
+        long backoff = 100;
+        while (true) {
+            try {
+                Timer.Sample sample = Timer.start(meterRegistry);
+                writeBatch(batch);
+                sample.stop(meterRegistry.timer("weather.snapshots.batch.duration"));
+                meterRegistry.counter("weather.snapshots.inserted").increment(batch.size());
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                return e;
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Snapshot batch of {} failed, retrying in {} ms: {}", batch.size(), backoff, e.getMessage());
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, 5000);
+            } catch (RuntimeException e) {
+                // A snapshot that cannot be bound, such as one without a location
+                return e;
+            }
+        }
+    }
+
+    private static Object locationId(WeatherSnapshot snapshot) {
+        return snapshot.getLocation() != null ? snapshot.getLocation().getId() : null;
+    }
+
+    private void writeBatch(List<WeatherSnapshot> batch) {
+        // One row per location: an upsert cannot update the same row twice in one statement
+        Map<Long, WeatherSnapshot> newest = new HashMap<>();
+        for (WeatherSnapshot snapshot : batch) {
+            newest.merge(snapshot.getLocation().getId(), snapshot,
+                    (a, b) -> b.getFetchedAt().isBefore(a.getFetchedAt()) ? a : b);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            weatherSnapshotRepository.insertAll(batch);
+            latestWeatherRepository.upsertAll(List.copyOf(newest.values()));
+        });
+    }
+}
@@ -0,0 +1,172 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.exception.WeatherApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * OpenWeatherMap client split into two bulkheads. Interactive calls (refreshes, forecasts and the
+ * first fetch of a location a user adds) and background calls (the scheduled sweep, bulk imports
+ * and warm-up) each get their own HTTP client, so their own connection pool and executor, and their
+ * own concurrency limit. A sweep can then use up only the background lane.
+ * <p>
+ * Calls are interactive unless made inside {@link #background(Runnable)}. A call that finds its lane
+ * full waits for a slot up to the lane's {@code max-wait}: briefly for interactive calls, which then
+ * fail with a {@link WeatherApiException}, and long enough for background work to simply slow down.
+ */
+@Component
+public class UpstreamClient implements DisposableBean {
+    public enum Traffic {
+        INTERACTIVE, BACKGROUND;
+
+        public String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final ThreadLocal<Traffic> CURRENT = ThreadLocal.withInitial(() -> Traffic.INTERACTIVE);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Traffic, Lane> lanes = new EnumMap<>(Traffic.class);
+
+    public UpstreamClient(MeterRegistry meterRegistry,
+                          @Value("${weather.api.connect-timeout}") Duration connectTimeout,
+                          @Value("${weather.api.read-timeout}") Duration readTimeout,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                          @Value("${weather.upstream.interactive.max-concurrency:32}") int interactiveConcurrency,
+                          @Value("${weather.upstream.interactive.max-wait:1s}") Duration interactiveWait,
+                          @Value("${weather.upstream.background.max-concurrency:4}") int backgroundConcurrency,
+                          @Value("${weather.upstream.background.max-wait:5m}") Duration backgroundWait) {
+        this.meterRegistry = meterRegistry;
+        lanes.put(Traffic.INTERACTIVE, new Lane(Traffic.INTERACTIVE, interactiveConcurrency, interactiveWait,
+                connectTimeout, readTimeout, virtualThreads, meterRegistry));
+        lanes.put(Traffic.BACKGROUND, new Lane(Traffic.BACKGROUND, backgroundConcurrency, backgroundWait,
+                connectTimeout, readTimeout, virtualThreads, meterRegistry));
+    }
+
+    /**
+     * Runs {@code work} with its upstream calls in the background lane.
+     */
+    public static void background(Runnable work) {
+        Traffic previous = CURRENT.get();
+        CURRENT.set(Traffic.BACKGROUND);
+        try {
+            work.run();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Fetches {@code url} in the current lane. The call, including any wait for a slot, is timed as
+     * {@code weather.upstream.requests} tagged with {@code endpoint}, its outcome and the lane.
+     */
+    public <T> T get(String url, Class<T> responseType, String endpoint) {
+        Traffic traffic = CURRENT.get();
+        Lane lane = lanes.get(traffic);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            lane.acquire();
+            try {
+                T response = lane.restTemplate.getForObject(url, responseType);
+                outcome = "success";
+                return response;
+            } finally {
+                lane.permits.release();
+            }
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("weather.upstream.requests", "endpoint", endpoint, "outcome", outcome,
+                    "traffic", traffic.tag()));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lanes.values().forEach(lane -> lane.httpExecutor.shutdownNow());
+    }
+
+    private static final class Lane {
+        private final Traffic traffic;
+        private final int concurrency;
+        private final Semaphore permits;
+        private final Duration maxWait;
+        private final ExecutorService httpExecutor;
+        private final RestTemplate restTemplate;
+        private final Timer waitTimer;
+        private final Counter rejected;
+
+        private Lane(Traffic traffic, int concurrency, Duration maxWait, Duration connectTimeout, Duration readTimeout,
+                     boolean virtualThreads, MeterRegistry meterRegistry) {
+            this.traffic = traffic;
+            this.concurrency = concurrency;
+            this.permits = new Semaphore(concurrency, true);
+            this.maxWait = maxWait;
+
+            // Requests are HTTP/1.1, so the permits also cap the connections this lane's pool opens
+            String threadName = "upstream-" + traffic.tag() + "-http-";
+            if (virtualThreads) {
+                this.httpExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadName, 1).factory());
+            } else {
+                AtomicInteger threads = new AtomicInteger();
+                this.httpExecutor = Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, threadName + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(connectTimeout)
+                    .executor(httpExecutor)
+                    .build();
+            JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+            requestFactory.setReadTimeout(readTimeout);
+            this.restTemplate = new RestTemplate(requestFactory);
+
+            this.waitTimer = meterRegistry.timer("weather.upstream.lane.wait", "traffic", traffic.tag());
+            this.rejected = meterRegistry.counter("weather.upstream.lane.rejected", "traffic", traffic.tag());
+            Gauge.builder("weather.upstream.lane.active", permits, lane -> concurrency - lane.availablePermits())
+                    .tag("traffic", traffic.tag()).register(meterRegistry);
+            Gauge.builder("weather.upstream.lane.waiting", permits, Semaphore::getQueueLength)
+                    .tag("traffic", traffic.tag()).register(meterRegistry);
+        }
+
+        private void acquire() {
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WeatherApiException("Interrupted waiting for the weather service");
+            }
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejected.increment();
+                throw new WeatherApiException(String.format("All %d %s upstream slots busy", concurrency, traffic.tag()));
+            }
+        }
+    }
+}
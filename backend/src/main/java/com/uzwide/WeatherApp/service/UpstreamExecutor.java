@@ -0,0 +1,76 @@
+package com.uzwide.WeatherApp.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs request work that waits on OpenWeatherMap on its own bounded pool, so controllers can return
+ * a future and give the servlet thread back while the upstream call is in flight. A slow upstream
+ * then fills this pool instead of Tomcat's, and cached reads keep being served.
+ * <p>
+ * Each future fails with a {@link java.util.concurrent.TimeoutException} after
+ * {@code weather.async.timeout}, which the API answers with 504. The work itself is not interrupted:
+ * it finishes in the background and its result still reaches the caches and the database. When the
+ * pool and its queue are full, work is rejected straight away with a
+ * {@link RejectedExecutionException}, answered with 503.
+ */
+@Service
+@RequiredArgsConstructor
+public class UpstreamExecutor implements DisposableBean {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${weather.async.threads:16}")
+    private int threads;
+
+    @Value("${weather.async.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${weather.async.timeout:15s}")
+    private Duration timeout;
+
+    private ThreadPoolExecutor executor;
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor()).orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("weather.async.rejected").increment();
+            throw e;
+        }
+    }
+
+    private synchronized ThreadPoolExecutor executor() {
+        if (executor == null) {
+            AtomicInteger count = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                        Thread thread = new Thread(runnable, "upstream-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            Gauge.builder("weather.async.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+            Gauge.builder("weather.async.queued", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+        }
+        return executor;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -26,7 +26,7 @@ public class UserPreferencesService {
     }
 
     @Transactional
-    @CacheEvict(value = "userPreferences")
+    @CacheEvict(value = "userPreferences", allEntries = true)
     public UserPreferencesDTO updateUserPreferences(UserPreferencesDTO dto) {
         UserPreferences preferences = userPreferencesRepository.findFirstByOrderByIdAsc()
                 .orElseGet(this::buildDefaultPreferences);
@@ -3,42 +3,70 @@ package com.uzwide.WeatherApp.service;
 
 import com.uzwide.WeatherApp.dto.request.LocationDTO;
 import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import com.uzwide.WeatherApp.dto.response.LocationPageDTO;
+import com.uzwide.WeatherApp.dto.response.LocationSuggestionDTO;
+import com.uzwide.WeatherApp.dto.response.WeatherDeltaDTO;
 import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
 import com.uzwide.WeatherApp.exception.DuplicateLocationException;
 import com.uzwide.WeatherApp.exception.LocationNotFoundException;
 import com.uzwide.WeatherApp.exception.WeatherApiException;
+import com.uzwide.WeatherApp.model.LatestWeather;
 import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.model.LocationTombstone;
+import com.uzwide.WeatherApp.model.WeatherReading;
 import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import com.uzwide.WeatherApp.repositories.LatestWeatherRepository;
+import com.uzwide.WeatherApp.repositories.LocationCursor;
 import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.repositories.LocationTombstoneRepository;
+import com.uzwide.WeatherApp.repositories.WeatherConditionDictionary;
 import com.uzwide.WeatherApp.repositories.WeatherSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WeatherService {
-    private static final double SIGNIFICANT_TEMP_DELTA = 8.0;
-    private static final int SIGNIFICANT_HUMIDITY_DELTA = 30;
-    private static final int SIGNIFICANT_PRESSURE_DELTA = 20;
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final LocationRepository locationRepository;
     private final WeatherSnapshotRepository weatherSnapshotRepository;
-    private final RestTemplate restTemplate;
+    private final UpstreamClient upstreamClient;
+    private final MeterRegistry meterRegistry;
+    private final LocationSearchIndex locationSearchIndex;
+    private final GeocodingService geocodingService;
+    private final LocationTombstoneRepository locationTombstoneRepository;
+    private final LatestWeatherRepository latestWeatherRepository;
+    private final SnapshotWriter snapshotWriter;
+    private final AlertService alertService;
+    private final WeatherConditionDictionary weatherConditionDictionary;
 
     @Value("${weather.api.key}")
     private String apiKey;
@@ -46,6 +74,12 @@ public class WeatherService {
     @Value("${weather.api.base-url}")
     private String apiBaseUrl;
 
+    @Value("${weather.delta.overlap:5s}")
+    private Duration deltaOverlap;
+
+    @Value("${weather.delta.tombstone-retention:7d}")
+    private Duration tombstoneRetention;
+
 
     @Transactional
     public Location addLocation(LocationDTO locationDTO) {
@@ -61,15 +95,27 @@ public class WeatherService {
             );
         }
 
+        Double latitude = locationDTO.getLatitude();
+        Double longitude = locationDTO.getLongitude();
+        if (latitude == null || longitude == null) {
+            GazetteerPlaceDTO place = geocodingService.resolve(locationDTO.getName(), normalizedCountryCode)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            String.format("Coordinates are required: %s, %s is not in the offline gazetteer",
+                                    locationDTO.getName(), normalizedCountryCode)));
+            latitude = place.getLatitude();
+            longitude = place.getLongitude();
+        }
+
         Location location = new Location();
         location.setName(locationDTO.getName());
         location.setCountry(normalizedCountryCode);
-        location.setLatitude(locationDTO.getLatitude());
-        location.setLongitude(locationDTO.getLongitude());
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
         location.setDisplayName(locationDTO.getDisplayName());
         location.setIsFavorite(locationDTO.getIsFavorite() != null ? locationDTO.getIsFavorite() : false);
 
         Location saved = locationRepository.save(location);
+        locationSearchIndex.put(saved);
 
         // Fetch initial weather data
         try {
@@ -86,39 +132,150 @@ public class WeatherService {
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(() -> new LocationNotFoundException("Location not found with id: " + locationId));
 
-        WeatherSnapshot latestSnapshot = weatherSnapshotRepository
-                .findFirstByLocationOrderByFetchedAtDesc(location)
+        WeatherReading latest = latestWeatherRepository.findById(locationId)
+                .map(WeatherReading.class::cast)
                 .orElseGet(() -> fetchAndSaveWeatherData(location, units));
 
-        return mapToResponseDTO(location, latestSnapshot);
+        return mapToResponseDTO(location, latest);
     }
 
     public List<WeatherResponseDTO> getAllLocationsWithWeather(Units units) {
         List<Location> locations = locationRepository.findAllOrdered();
+        Map<Long, WeatherResponseDTO> latest = getLatestWeather(locations);
 
         return locations.stream()
-                .map(location -> {
-                    Optional<WeatherSnapshot> snapshot = weatherSnapshotRepository
-                            .findFirstByLocationOrderByFetchedAtDesc(location);
-                    return snapshot.map(s -> mapToResponseDTO(location, s))
-                            .orElseGet(() -> {
-                                WeatherSnapshot newSnapshot = fetchAndSaveWeatherData(location, units);
-                                return mapToResponseDTO(location, newSnapshot);
-                            });
-                })
+                .map(location -> latest.computeIfAbsent(location.getId(),
+                        id -> mapToResponseDTO(location, fetchAndSaveWeatherData(location, units))))
                 .collect(Collectors.toList());
     }
 
-    @CacheEvict(value = "weather", key = "#locationId")
+    /**
+     * One page of locations in the same order as {@link #getAllLocationsWithWeather}, optionally
+     * narrowed to favorites, a country or a name prefix. Pages are cut by keyset on the sort order,
+     * so fetching any page costs the same however many locations come before it.
+     */
+    public LocationPageDTO getLocationsPage(Boolean favorite, String country, String namePrefix,
+                                            String cursor, int limit, Units units) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        String countryCode = country == null || country.isBlank() ? null : normalizeCountryCode(country);
+        String prefix = namePrefix == null || namePrefix.isBlank() ? null : namePrefix.trim();
+        LocationCursor after = cursor == null || cursor.isBlank() ? null : LocationCursor.decode(cursor);
+
+        // One extra row tells whether another page follows without a count query
+        List<Location> locations = locationRepository.findPage(favorite, countryCode, prefix, after, limit + 1);
+        boolean more = locations.size() > limit;
+        List<Location> page = more ? locations.subList(0, limit) : locations;
+        Map<Long, WeatherResponseDTO> latest = getLatestWeather(page);
+
+        List<WeatherResponseDTO> items = page.stream()
+                .map(location -> latest.computeIfAbsent(location.getId(),
+                        id -> mapToResponseDTO(location, fetchAndSaveWeatherData(location, units))))
+                .toList();
+        return LocationPageDTO.builder()
+                .items(items)
+                .nextCursor(more ? LocationCursor.of(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Locations whose weather or details changed after {@code since}, and the ids of those deleted
+     * since. The returned watermark trails the clock by {@code weather.delta.overlap}, so a change
+     * committed late or stamped by a replica with a slightly slow clock is sent again rather than lost;
+     * clients merge by location id. A watermark older than the tombstone retention gets the full list.
+     */
+    public WeatherDeltaDTO getLocationChanges(LocalDateTime since, Units units) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime watermark = now.minus(deltaOverlap).truncatedTo(ChronoUnit.MILLIS);
+        if (since.isBefore(now.minus(tombstoneRetention))) {
+            return WeatherDeltaDTO.builder()
+                    .changed(getAllLocationsWithWeather(units))
+                    .deleted(List.of())
+                    .watermark(watermark)
+                    .full(true)
+                    .build();
+        }
+
+        Map<Long, Location> changed = new TreeMap<>();
+        locationRepository.findByUpdatedAtAfter(since).forEach(location -> changed.put(location.getId(), location));
+        List<Long> refreshedIds = latestWeatherRepository.findLocationIdsUpdatedAfter(since).stream()
+                .filter(id -> !changed.containsKey(id))
+                .toList();
+        locationRepository.findAllById(refreshedIds).forEach(location -> changed.put(location.getId(), location));
+
+        Map<Long, WeatherResponseDTO> latest = getLatestWeather(List.copyOf(changed.values()));
+        List<WeatherResponseDTO> weather = changed.values().stream()
+                .map(location -> latest.computeIfAbsent(location.getId(),
+                        id -> mapToResponseDTO(location, fetchAndSaveWeatherData(location, units))))
+                .toList();
+
+        return WeatherDeltaDTO.builder()
+                .changed(weather)
+                .deleted(locationTombstoneRepository.findLocationIdsDeletedAfter(since))
+                .watermark(watermark)
+                .full(false)
+                .build();
+    }
+
     @Transactional
+    public int purgeTombstones() {
+        return locationTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    // Deliberately not @Transactional: the upstream round trip must not hold a pooled connection.
+    // The fresh reading is cached for its units rather than evicted, so the next read does not go to
+    // latest_weather before a write-behind batch has reached it.
+    @Caching(put = @CachePut(value = "weather", key = "#locationId + '_' + #units"), evict = {
+            @CacheEvict(value = "weather", key = "#locationId + '_METRIC'", condition = "#units.name() != 'METRIC'"),
+            @CacheEvict(value = "weather", key = "#locationId + '_STANDARD'", condition = "#units.name() != 'STANDARD'"),
+            @CacheEvict(value = "weather", key = "#locationId + '_IMPERIAL'", condition = "#units.name() != 'IMPERIAL'")
+    })
     public WeatherResponseDTO refreshWeather(Long locationId,Units units) {
-        Location location = locationRepository.findById(locationId)
+        // From the primary: imports and clients refresh locations straight after creating them
+        Location location = locationRepository.findByIdOnPrimary(locationId)
                 .orElseThrow(() -> new LocationNotFoundException("Location not found with id: " + locationId));
 
         WeatherSnapshot snapshot = fetchAndSaveWeatherData(location,units);
         return mapToResponseDTO(location, snapshot);
     }
 
+    /**
+     * Latest stored weather for each location, loaded by primary key from {@code latest_weather}
+     * in one query without calling upstream. Locations that have never been fetched are left out.
+     */
+    public Map<Long, WeatherResponseDTO> getLatestWeather(List<Location> locations) {
+        return getLatestWeather(locations, reading -> true);
+    }
+
+    /**
+     * As {@link #getLatestWeather(List)}, keeping only readings fetched in {@code units}. Readings
+     * stored in other units, or before units were recorded, are left out as well.
+     */
+    public Map<Long, WeatherResponseDTO> getLatestWeather(List<Location> locations, Units units) {
+        return getLatestWeather(locations, reading -> reading.getUnits() == units);
+    }
+
+    private Map<Long, WeatherResponseDTO> getLatestWeather(List<Location> locations, Predicate<LatestWeather> include) {
+        if (locations.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Location> byId = locations.stream()
+                .collect(Collectors.toMap(Location::getId, location -> location, (first, second) -> first));
+
+        Map<Long, WeatherResponseDTO> latest = new HashMap<>();
+        for (LatestWeather reading : latestWeatherRepository.findAllById(byId.keySet())) {
+            if (include.test(reading)) {
+                latest.put(reading.getLocationId(), mapToResponseDTO(byId.get(reading.getLocationId()), reading));
+            }
+        }
+        return latest;
+    }
+
+    public List<LocationSuggestionDTO> searchLocations(String query, int limit) {
+        return locationSearchIndex.search(query, limit);
+    }
+
     @Transactional
     public Location updateLocation(Long id, LocationDTO locationDTO) {
         Location location = locationRepository.findById(id)
@@ -131,18 +288,29 @@ public class WeatherService {
             location.setIsFavorite(locationDTO.getIsFavorite());
         }
 
-        return locationRepository.save(location);
+        Location saved = locationRepository.save(location);
+        locationSearchIndex.put(saved);
+        return saved;
     }
 
     @Transactional
-    @CacheEvict(value = "weather", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = "weather", key = "#id + '_METRIC'"),
+            @CacheEvict(value = "weather", key = "#id + '_STANDARD'"),
+            @CacheEvict(value = "weather", key = "#id + '_IMPERIAL'")
+    })
     public void deleteLocation(Long id) {
         Location location = locationRepository.findById(id)
                 .orElseThrow(() -> new LocationNotFoundException("Location not found with id: " + id));
+        latestWeatherRepository.deleteById(id);
         weatherSnapshotRepository.deleteByLocation(location);
         locationRepository.delete(location);
+        locationTombstoneRepository.save(new LocationTombstone(id, LocalDateTime.now()));
+        locationSearchIndex.remove(id);
+        alertService.forget(id);
     }
 
+    @SuppressWarnings("unchecked")
     private WeatherSnapshot fetchAndSaveWeatherData(Location location, Units units) {
         try {
             String url = UriComponentsBuilder
@@ -154,22 +322,21 @@ public class WeatherService {
                     .build()
                     .toUriString();
 
-            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            Map<String, Object> response = upstreamClient.get(url, Map.class, "weather");
 
-            Optional<WeatherSnapshot> latestSnapshot = weatherSnapshotRepository
-                    .findFirstByLocationOrderByFetchedAtDesc(location);
+            Optional<LatestWeather> previousReading = latestWeatherRepository.findById(location.getId());
             WeatherSnapshot weatherSnapshot = mapToWeatherSnapshot(response, location);
+            weatherSnapshot.setUnits(units);
 
-            latestSnapshot.ifPresent(previous -> {
-                if (isSignificantWeatherDrift(previous, weatherSnapshot)) {
-                    log.warn(
-                            "Significant weather drift detected for {}. Keeping historical data and appending latest snapshot.",
-                            location.getName()
-                    );
-                }
-            });
+            // Upstream publishes a new observation about every 10 minutes; until then it repeats the last one
+            if (previousReading.isPresent() && isSameObservation(previousReading.get(), weatherSnapshot)) {
+                latestWeatherRepository.touch(location.getId(), weatherSnapshot.getFetchedAt());
+                meterRegistry.counter("weather.snapshots.unchanged").increment();
+                return weatherSnapshot;
+            }
 
-            weatherSnapshotRepository.save(weatherSnapshot);
+            snapshotWriter.write(weatherSnapshot);
+            alertService.evaluate(location.getId(), previousReading.orElse(null), weatherSnapshot, units);
             return weatherSnapshot;
 
         } catch (HttpClientErrorException e) {
@@ -181,11 +348,23 @@ public class WeatherService {
         }
     }
 
+    // The observation time alone is not enough: the stored reading may have been fetched in other units
+    private static boolean isSameObservation(WeatherReading stored, WeatherSnapshot fetched) {
+        return fetched.getObservedAt() != null
+                && fetched.getObservedAt().equals(stored.getObservedAt())
+                && Objects.equals(fetched.getTemperature(), stored.getTemperature())
+                && Objects.equals(fetched.getFeelsLike(), stored.getFeelsLike())
+                && Objects.equals(fetched.getWindSpeed(), stored.getWindSpeed());
+    }
+
     @SuppressWarnings("unchecked")
-    private WeatherSnapshot mapToWeatherSnapshot(Map<String, Object> response, Location location) {
+    WeatherSnapshot mapToWeatherSnapshot(Map<String, Object> response, Location location) {
         WeatherSnapshot weatherSnapshot = new WeatherSnapshot();
         weatherSnapshot.setLocation(location);
         weatherSnapshot.setFetchedAt(java.time.LocalDateTime.now());
+        if (response.get("dt") instanceof Number dt) {
+            weatherSnapshot.setObservedAt(LocalDateTime.ofInstant(Instant.ofEpochSecond(dt.longValue()), ZoneId.systemDefault()));
+        }
         
         // Map main weather data
         if (response.containsKey("main")) {
@@ -208,9 +387,8 @@ public class WeatherService {
             List<Map<String, Object>> weather = (List<Map<String, Object>>) response.get("weather");
             if (!weather.isEmpty()) {
                 Map<String, Object> weatherData = weather.get(0);
-                weatherSnapshot.setWeatherCondition((String) weatherData.get("main"));
-                weatherSnapshot.setWeatherDescription((String) weatherData.get("description"));
-                weatherSnapshot.setWeatherIcon((String) weatherData.get("icon"));
+                weatherSnapshot.setCondition(weatherConditionDictionary.intern((String) weatherData.get("main"),
+                        (String) weatherData.get("description"), (String) weatherData.get("icon")));
             }
         }
         
@@ -226,19 +404,7 @@ public class WeatherService {
         return weatherSnapshot;
     }
 
-    private boolean isSignificantWeatherDrift(WeatherSnapshot previous, WeatherSnapshot current) {
-        if (previous.getTemperature() == null || current.getTemperature() == null
-                || previous.getHumidity() == null || current.getHumidity() == null
-                || previous.getPressure() == null || current.getPressure() == null) {
-            return false;
-        }
-
-        return Math.abs(previous.getTemperature() - current.getTemperature()) >= SIGNIFICANT_TEMP_DELTA
-                || Math.abs(previous.getHumidity() - current.getHumidity()) >= SIGNIFICANT_HUMIDITY_DELTA
-                || Math.abs(previous.getPressure() - current.getPressure()) >= SIGNIFICANT_PRESSURE_DELTA;
-    }
-
-    private WeatherResponseDTO mapToResponseDTO(Location location, WeatherSnapshot weatherSnapshot) {
+    private WeatherResponseDTO mapToResponseDTO(Location location, WeatherReading weatherSnapshot) {
         return WeatherResponseDTO.builder()
                 .locationId(location.getId())
                 .locationName(location.getName())
@@ -257,7 +423,7 @@ public class WeatherService {
                 .build();
     }
 
-    private String normalizeCountryCode(String countryInput) {
+    String normalizeCountryCode(String countryInput) {
         if (countryInput == null || countryInput.isBlank()) {
             throw new IllegalArgumentException("Country is required");
         }
@@ -267,13 +433,8 @@ public class WeatherService {
             return value.toUpperCase(Locale.ROOT);
         }
 
-        for (String isoCode : Locale.getISOCountries()) {
-            String displayName = new Locale("", isoCode).getDisplayCountry(Locale.ENGLISH);
-            if (displayName.equalsIgnoreCase(value)) {
-                return isoCode;
-            }
-        }
-
-        throw new IllegalArgumentException("Country must be a valid 2-letter ISO code or recognized country name");
+        return CountryIndex.resolve(value)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Country must be a valid 2-letter ISO code or recognized country name"));
     }
 }
@@ -0,0 +1,7 @@
+-- Upstream observation time (OpenWeather "dt"). A refresh that returns the same observation only
+-- moves latest_weather.fetched_at instead of adding a duplicate snapshot, so delta sync reads the
+-- fetch time from latest_weather rather than from the history.
+ALTER TABLE weather_snapshots ADD COLUMN observed_at TIMESTAMP;
+ALTER TABLE latest_weather ADD COLUMN observed_at TIMESTAMP;
+
+CREATE INDEX idx_latest_weather_fetched_at ON latest_weather(fetched_at);
@@ -0,0 +1,42 @@
+-- Snapshots repeat a small vocabulary of condition, description and icon strings. Each distinct
+-- combination is stored once here and referenced by a two-byte id, which the application resolves
+-- from memory. Rows written before this migration keep their old width until they are purged by
+-- retention or the table is rewritten (VACUUM FULL / pg_repack).
+CREATE TABLE weather_conditions (
+    id SMALLINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    weather_condition VARCHAR(50) NOT NULL,
+    weather_description VARCHAR(200) NOT NULL,
+    weather_icon VARCHAR(10) NOT NULL,
+    CONSTRAINT uk_weather_conditions UNIQUE (weather_condition, weather_description, weather_icon)
+);
+
+INSERT INTO weather_conditions (weather_condition, weather_description, weather_icon)
+SELECT weather_condition, weather_description, weather_icon FROM weather_snapshots
+UNION
+SELECT weather_condition, weather_description, weather_icon FROM latest_weather;
+
+ALTER TABLE weather_snapshots ADD COLUMN condition_id SMALLINT;
+UPDATE weather_snapshots s SET condition_id = c.id
+FROM weather_conditions c
+WHERE c.weather_condition = s.weather_condition
+  AND c.weather_description = s.weather_description
+  AND c.weather_icon = s.weather_icon;
+ALTER TABLE weather_snapshots
+    ALTER COLUMN condition_id SET NOT NULL,
+    ADD CONSTRAINT fk_weather_snapshots_condition FOREIGN KEY (condition_id) REFERENCES weather_conditions(id),
+    DROP COLUMN weather_condition,
+    DROP COLUMN weather_description,
+    DROP COLUMN weather_icon;
+
+ALTER TABLE latest_weather ADD COLUMN condition_id SMALLINT;
+UPDATE latest_weather l SET condition_id = c.id
+FROM weather_conditions c
+WHERE c.weather_condition = l.weather_condition
+  AND c.weather_description = l.weather_description
+  AND c.weather_icon = l.weather_icon;
+ALTER TABLE latest_weather
+    ALTER COLUMN condition_id SET NOT NULL,
+    ADD CONSTRAINT fk_latest_weather_condition FOREIGN KEY (condition_id) REFERENCES weather_conditions(id),
+    DROP COLUMN weather_condition,
+    DROP COLUMN weather_description,
+    DROP COLUMN weather_icon;
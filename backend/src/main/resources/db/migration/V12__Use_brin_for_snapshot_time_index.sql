@@ -0,0 +1,8 @@
+-- Snapshots are only ever appended, in fetch order, so fetched_at follows the physical row order.
+-- A BRIN index keeps one min/max summary per 32 heap pages instead of one entry per row, which is
+-- enough for time-range scans such as retention purges at a fraction of the size and insert cost.
+-- autosummarize lets autovacuum summarize new ranges as the table grows; ranges not yet summarized
+-- are always scanned, so results stay correct in between.
+DROP INDEX IF EXISTS idx_weather_snapshots_fetched_at;
+CREATE INDEX idx_weather_snapshots_fetched_at_brin ON weather_snapshots
+    USING brin (fetched_at) WITH (pages_per_range = 32, autosummarize = on);
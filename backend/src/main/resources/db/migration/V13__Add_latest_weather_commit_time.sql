@@ -0,0 +1,12 @@
+-- Delta sync compares client watermarks with the time a reading was written, not the time it was
+-- fetched. With write-behind a snapshot is stamped fetched_at before it is queued and only becomes
+-- visible when its batch commits, which can be later than the watermark overlap. updated_at is set
+-- by the statement that writes the row, so it trails the commit by one short transaction at most.
+ALTER TABLE latest_weather ADD COLUMN updated_at TIMESTAMP;
+UPDATE latest_weather SET updated_at = fetched_at;
+ALTER TABLE latest_weather
+    ALTER COLUMN updated_at SET NOT NULL,
+    ALTER COLUMN updated_at SET DEFAULT LOCALTIMESTAMP;
+
+DROP INDEX IF EXISTS idx_latest_weather_fetched_at;
+CREATE INDEX idx_latest_weather_updated_at ON latest_weather(updated_at);
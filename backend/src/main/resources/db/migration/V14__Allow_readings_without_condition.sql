@@ -0,0 +1,4 @@
+-- OpenWeatherMap occasionally answers without a "weather" array. Such a reading has temperatures
+-- and wind but no condition, and is stored without one rather than rejected.
+ALTER TABLE weather_snapshots ALTER COLUMN condition_id DROP NOT NULL;
+ALTER TABLE latest_weather ALTER COLUMN condition_id DROP NOT NULL;
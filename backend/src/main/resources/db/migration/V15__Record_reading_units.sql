@@ -0,0 +1,4 @@
+-- Readings are stored in the units they were fetched in. Recording those units lets a stored
+-- reading be compared with a new one fetched in other units; rows written before this are NULL.
+ALTER TABLE weather_snapshots ADD COLUMN units VARCHAR(20);
+ALTER TABLE latest_weather ADD COLUMN units VARCHAR(20);
@@ -0,0 +1,16 @@
+-- The entities map these columns to Double; DECIMAL fails ddl-auto=validate once Flyway owns the schema
+ALTER TABLE locations
+    ALTER COLUMN latitude TYPE DOUBLE PRECISION,
+    ALTER COLUMN longitude TYPE DOUBLE PRECISION;
+
+ALTER TABLE weather_snapshots
+    ALTER COLUMN temperature TYPE DOUBLE PRECISION,
+    ALTER COLUMN feels_like TYPE DOUBLE PRECISION,
+    ALTER COLUMN wind_speed TYPE DOUBLE PRECISION;
+
+-- Databases created by ddl-auto are baselined at V3 and never got the V1/V2 indexes
+CREATE INDEX IF NOT EXISTS idx_locations_name_country ON locations(name, country);
+CREATE INDEX IF NOT EXISTS idx_locations_is_favorite ON locations(is_favorite);
+CREATE INDEX IF NOT EXISTS idx_locations_coordinates ON locations(latitude, longitude);
+CREATE INDEX IF NOT EXISTS idx_weather_snapshots_location_fetched ON weather_snapshots(location_id, fetched_at DESC);
+CREATE INDEX IF NOT EXISTS idx_weather_snapshots_fetched_at ON weather_snapshots(fetched_at DESC);
@@ -0,0 +1,10 @@
+-- Shared L2 for the two-tier cache. Unlogged: entries are disposable and are lost on a crash anyway.
+CREATE UNLOGGED TABLE cache_entries (
+    cache_name VARCHAR(64) NOT NULL,
+    cache_key VARCHAR(255) NOT NULL,
+    value BYTEA NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (cache_name, cache_key)
+);
+
+CREATE INDEX idx_cache_entries_expires_at ON cache_entries(expires_at);
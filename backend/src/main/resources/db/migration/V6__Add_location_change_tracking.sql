@@ -0,0 +1,9 @@
+-- Delta sync: locations changed or deleted since a client watermark
+CREATE INDEX idx_locations_updated_at ON locations(updated_at);
+
+CREATE TABLE location_tombstones (
+    location_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_location_tombstones_deleted_at ON location_tombstones(deleted_at);
@@ -0,0 +1,24 @@
+-- Current weather per location, upserted with every snapshot so reads never scan the history
+CREATE TABLE latest_weather (
+    location_id BIGINT PRIMARY KEY REFERENCES locations(id) ON DELETE CASCADE,
+    temperature DOUBLE PRECISION NOT NULL,
+    feels_like DOUBLE PRECISION NOT NULL,
+    humidity INTEGER NOT NULL,
+    pressure INTEGER NOT NULL,
+    wind_speed DOUBLE PRECISION NOT NULL,
+    wind_direction INTEGER NOT NULL,
+    weather_condition VARCHAR(50) NOT NULL,
+    weather_description VARCHAR(200) NOT NULL,
+    weather_icon VARCHAR(10) NOT NULL,
+    cloudiness INTEGER NOT NULL,
+    visibility INTEGER NOT NULL,
+    fetched_at TIMESTAMP NOT NULL
+);
+
+INSERT INTO latest_weather (location_id, temperature, feels_like, humidity, pressure, wind_speed, wind_direction,
+                            weather_condition, weather_description, weather_icon, cloudiness, visibility, fetched_at)
+SELECT DISTINCT ON (location_id)
+       location_id, temperature, feels_like, humidity, pressure, wind_speed, wind_direction,
+       weather_condition, weather_description, weather_icon, cloudiness, visibility, fetched_at
+FROM weather_snapshots
+ORDER BY location_id, fetched_at DESC;
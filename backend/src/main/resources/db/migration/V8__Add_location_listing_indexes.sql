@@ -0,0 +1,16 @@
+-- Keyset pagination of the location list. The sort key spells out the listing order
+-- (is_favorite DESC, display_name ASC NULLS LAST, name, id) as ascending, non-null expressions so
+-- a single row comparison against the cursor can walk these indexes in order.
+UPDATE locations SET is_favorite = FALSE WHERE is_favorite IS NULL;
+ALTER TABLE locations
+    ALTER COLUMN is_favorite SET DEFAULT FALSE,
+    ALTER COLUMN is_favorite SET NOT NULL;
+
+CREATE INDEX idx_locations_listing
+    ON locations ((NOT is_favorite), (display_name IS NULL), (COALESCE(display_name, '')), name, id);
+CREATE INDEX idx_locations_country_listing
+    ON locations (country, (NOT is_favorite), (display_name IS NULL), (COALESCE(display_name, '')), name, id);
+
+-- Case-insensitive name prefix filter
+CREATE INDEX idx_locations_name_prefix ON locations (lower(name) text_pattern_ops);
+CREATE INDEX idx_locations_display_name_prefix ON locations (lower(display_name) text_pattern_ops);
@@ -0,0 +1,33 @@
+-- User-defined alert rules. A rule without a location applies to every location.
+CREATE TABLE alert_rules (
+    id BIGSERIAL PRIMARY KEY,
+    location_id BIGINT REFERENCES locations(id) ON DELETE CASCADE,
+    name VARCHAR(100),
+    metric VARCHAR(20) NOT NULL,
+    operator VARCHAR(10) NOT NULL,
+    threshold DOUBLE PRECISION,
+    condition_value VARCHAR(50),
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Alerts outlive the rule that raised them
+CREATE TABLE weather_alerts (
+    id BIGSERIAL PRIMARY KEY,
+    rule_id BIGINT REFERENCES alert_rules(id) ON DELETE SET NULL,
+    location_id BIGINT NOT NULL REFERENCES locations(id) ON DELETE CASCADE,
+    metric VARCHAR(20) NOT NULL,
+    observed_value DOUBLE PRECISION,
+    previous_value DOUBLE PRECISION,
+    message VARCHAR(255) NOT NULL,
+    triggered_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_weather_alerts_triggered_at ON weather_alerts(triggered_at DESC);
+CREATE INDEX idx_weather_alerts_location_triggered ON weather_alerts(location_id, triggered_at DESC);
+
+-- The drift thresholds WeatherService used to log, kept as global rules
+INSERT INTO alert_rules (name, metric, operator, threshold) VALUES
+    ('Temperature swing', 'TEMPERATURE', 'CHANGE', 8),
+    ('Humidity swing', 'HUMIDITY', 'CHANGE', 30),
+    ('Pressure swing', 'PRESSURE', 'CHANGE', 20);
@@ -0,0 +1,63 @@
+package com.uzwide.WeatherApp.cache;
+
+import com.uzwide.WeatherApp.dto.response.ForecastDTO;
+import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NullValue;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresCacheStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SerializingConverter serializer = new SerializingConverter();
+
+    private Object read(byte[] value) {
+        when(jdbcTemplate.queryForList(anyString(), eq(byte[].class), eq("weather"), eq("1_METRIC")))
+                .thenReturn(List.of(value));
+        return new PostgresCacheStore(jdbcTemplate, jdbcTemplate, "node-1").get("weather", "1_METRIC");
+    }
+
+    @Test
+    void cachedDtosAndNullMarkerAreRead() {
+        WeatherResponseDTO weather = WeatherResponseDTO.builder()
+                .locationId(1L).temperature(21.37).lastUpdated(LocalDateTime.of(2026, 10, 19, 12, 0)).build();
+        List<ForecastDTO> forecast = List.of(ForecastDTO.builder().temperature(18.5).build());
+
+        assertEquals(weather, read(serializer.convert(weather)));
+        assertEquals(forecast, read(serializer.convert(forecast)));
+        assertEquals(NullValue.INSTANCE, read(serializer.convert(NullValue.INSTANCE)));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(Object[].class));
+    }
+
+    @Test
+    void entryOfAClassOutsideTheAllowListIsAMissAndIsDeleted() {
+        assertNull(read(serializer.convert(URI.create("https://example.com"))));
+
+        verify(jdbcTemplate).update("DELETE FROM cache_entries WHERE cache_name = ? AND cache_key = ?", "weather", "1_METRIC");
+    }
+
+    @Test
+    void corruptEntryIsAMissAndIsDeleted() {
+        assertNull(read(new byte[]{1, 2, 3}));
+
+        verify(jdbcTemplate).update("DELETE FROM cache_entries WHERE cache_name = ? AND cache_key = ?", "weather", "1_METRIC");
+    }
+}
@@ -0,0 +1,114 @@
+package com.uzwide.WeatherApp.cache;
+
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(30);
+
+    @Mock
+    private PostgresCacheStore store;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TwoTierCacheManager cacheManager;
+    private Cache weather;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoTierCacheManager(new String[]{"weather"}, CaffeineSpec.parse("maximumSize=10"),
+                store, TTL, meterRegistry, () -> null);
+        weather = cacheManager.getCache("weather");
+    }
+
+    private double gets(String tier, String result) {
+        return meterRegistry.counter("weather.cache.gets", "cache", "weather", "tier", tier, "result", result).count();
+    }
+
+    @Test
+    void readsThroughL2AndKeepsTheValueInL1() {
+        when(store.get("weather", "1_METRIC")).thenReturn("sunny");
+
+        assertEquals("sunny", weather.get("1_METRIC").get());
+        assertEquals("sunny", weather.get("1_METRIC").get());
+
+        verify(store, times(1)).get("weather", "1_METRIC");
+        assertEquals(1, gets("l1", "hit"));
+        assertEquals(1, gets("l1", "miss"));
+        assertEquals(1, gets("l2", "hit"));
+    }
+
+    @Test
+    void loadsOnMissInBothTiersAndWritesThrough() {
+        when(store.get("weather", "1_METRIC")).thenReturn(null);
+
+        assertEquals("sunny", weather.get("1_METRIC", () -> "sunny"));
+        assertEquals("sunny", weather.get("1_METRIC", () -> "rain"));
+
+        verify(store).put("weather", "1_METRIC", "sunny", TTL);
+        assertEquals(1, gets("l2", "miss"));
+    }
+
+    @Test
+    void evictRemovesFromBothTiers() {
+        weather.put("1_METRIC", "sunny");
+        weather.evict("1_METRIC");
+
+        verify(store).evict("weather", "1_METRIC");
+        assertNull(weather.get("1_METRIC"));
+    }
+
+    @Test
+    void fallsBackToLoaderWhenL2IsDown() {
+        when(store.get(anyString(), anyString())).thenThrow(new DataAccessResourceFailureException("down"));
+        doThrow(new DataAccessResourceFailureException("down")).when(store).put(anyString(), anyString(), any(), any());
+
+        assertEquals("sunny", weather.get("1_METRIC", () -> "sunny"));
+        assertEquals("sunny", weather.get("1_METRIC").get());
+    }
+
+    @Test
+    void invalidationFromAnotherNodeDropsOnlyTheLocalCopy() {
+        when(store.getNodeId()).thenReturn("this-node");
+        CacheInvalidationListener listener = new CacheInvalidationListener(() -> null, store, cacheManager);
+        weather.put("1_METRIC", "sunny");
+        weather.put("1:IMPERIAL", "sunny");
+
+        listener.handle("this-node:evict:weather:1_METRIC");
+        listener.handle("other-node:evict:weather:1:IMPERIAL");
+
+        assertEquals("sunny", weather.get("1_METRIC").get());
+        assertNull(weather.get("1:IMPERIAL"));
+        verify(store, never()).evict(anyString(), anyString());
+        assertEquals(1, meterRegistry.counter("weather.cache.invalidations", "cache", "weather").count());
+    }
+
+    @Test
+    void clearFromAnotherNodeEmptiesL1() {
+        when(store.getNodeId()).thenReturn("this-node");
+        CacheInvalidationListener listener = new CacheInvalidationListener(() -> null, store, cacheManager);
+        weather.put("1_METRIC", "sunny");
+
+        listener.handle("other-node:clear:weather");
+
+        assertNull(weather.get("1_METRIC"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.uzwide.WeatherApp.cache;
+
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class WeatherJsonCacheTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WeatherJsonCache cache = new WeatherJsonCache(jsonMapper, meterRegistry, 100, true);
+
+    private WeatherResponseDTO weather(long locationId, double temperature) {
+        return WeatherResponseDTO.builder()
+                .locationId(locationId)
+                .locationName("City" + locationId)
+                .country("ZA")
+                .temperature(temperature)
+                .weatherCondition("Clouds")
+                .weatherDescription("scattered clouds")
+                .lastUpdated(LocalDateTime.of(2026, 10, 19, 12, 0))
+                .isFavorite(false)
+                .build();
+    }
+
+    @Test
+    void reusesBytesUntilTheResponseChanges() {
+        byte[] first = cache.get(weather(1, 21.5), Units.METRIC).bytes();
+
+        assertSame(first, cache.get(weather(1, 21.5), Units.METRIC).bytes());
+        assertArrayEquals(jsonMapper.writeValueAsBytes(weather(1, 21.5)), first);
+
+        byte[] changed = cache.get(weather(1, 22.0), Units.METRIC).bytes();
+        assertNotSame(first, changed);
+        assertArrayEquals(jsonMapper.writeValueAsBytes(weather(1, 22.0)), changed);
+        assertNotSame(changed, cache.get(weather(1, 22.0), Units.IMPERIAL).bytes());
+    }
+
+    @Test
+    void concatenatedArrayMatchesSerializingTheList() {
+        List<WeatherResponseDTO> list = List.of(weather(1, 21.5), weather(2, 18.0), weather(3, 30.25));
+        cache.get(weather(2, 18.0), Units.METRIC);
+
+        assertArrayEquals(jsonMapper.writeValueAsBytes(list), cache.array(list, Units.METRIC));
+        assertArrayEquals(jsonMapper.writeValueAsBytes(List.of()), cache.array(List.of(), Units.METRIC));
+    }
+
+    @Test
+    void gzipCopyDecompressesToTheSameJson() throws IOException {
+        WeatherJsonCache.Json json = cache.get(weather(1, 21.5), Units.METRIC);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(json.gzipped()))) {
+            assertArrayEquals(json.bytes(), in.readAllBytes());
+        }
+        assertSame(json.gzipped(), json.gzipped());
+    }
+}
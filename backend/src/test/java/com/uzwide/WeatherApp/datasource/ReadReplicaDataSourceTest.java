@@ -0,0 +1,100 @@
+package com.uzwide.WeatherApp.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private HikariDataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReadReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(replica.getPoolName()).thenReturn("replica-1");
+        // Not started: tests run checkHealth() themselves
+        dataSource = new ReadReplicaDataSource(primary, List.of(replica), Duration.ofSeconds(5),
+                Duration.ofHours(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    private void replicaReportsLag(double seconds) throws SQLException {
+        Connection healthConnection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(healthConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReadReplicaDataSource.LAG_QUERY)).thenReturn(resultSet);
+        when(resultSet.getDouble(1)).thenReturn(seconds);
+        when(replica.getConnection()).thenReturn(healthConnection);
+        dataSource.checkHealth();
+    }
+
+    @Test
+    void readsGoToAReplicaWithinTheStalenessTolerance() throws SQLException {
+        replicaReportsLag(1.5);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void staleReplicaIsBypassedUntilItCatchesUp() throws SQLException {
+        replicaReportsLag(30);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1, meterRegistry.counter("weather.datasource.replica.fallbacks", "reason", "unavailable").count());
+
+        replicaReportsLag(0);
+        assertEquals(1, dataSource.healthyCount());
+    }
+
+    @Test
+    void failingReplicaFallsBackToPrimaryAndIsMarkedUnhealthy() throws SQLException {
+        replicaReportsLag(0);
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("timed out"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(0, dataSource.healthyCount());
+        assertEquals(1, meterRegistry.counter("weather.datasource.replica.fallbacks", "reason", "error").count());
+    }
+}
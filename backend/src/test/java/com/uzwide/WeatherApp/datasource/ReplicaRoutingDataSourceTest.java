@@ -0,0 +1,166 @@
+package com.uzwide.WeatherApp.datasource;
+
+import com.uzwide.WeatherApp.cache.PostgresCacheStore;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.support.TestPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Routing through real connections and the JPA stack the application uses. The "replica" is a
+ * second server that does not replicate, so a row written through the routing data source exists
+ * only on the primary, like one a lagging replica has not replayed yet.
+ */
+class ReplicaRoutingDataSourceTest {
+    private static TestPostgres primaryServer;
+    private static TestPostgres replicaServer;
+    private static AnnotationConfigApplicationContext context;
+
+    @BeforeAll
+    static void start() throws IOException {
+        primaryServer = TestPostgres.start();
+        replicaServer = TestPostgres.start();
+        for (TestPostgres server : List.of(primaryServer, replicaServer)) {
+            Flyway.configure().dataSource(server.getDataSource()).load().migrate();
+        }
+        context = new AnnotationConfigApplicationContext(JpaConfig.class);
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        if (primaryServer != null) {
+            primaryServer.close();
+        }
+        if (replicaServer != null) {
+            replicaServer.close();
+        }
+    }
+
+    private static int serverPort(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT inet_server_port()", Integer.class));
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnTheReplicaAndOthersOnThePrimary() {
+        assertEquals(replicaServer.getPort(), serverPort(true));
+        assertEquals(primaryServer.getPort(), serverPort(false));
+    }
+
+    @Test
+    void locationCreatedMomentsAgoIsFoundOnThePrimary() {
+        LocationRepository locationRepository = context.getBean(LocationRepository.class);
+        Location location = new Location();
+        location.setName("Stellenbosch");
+        location.setCountry("ZA");
+        location.setLatitude(-33.9321);
+        location.setLongitude(18.8602);
+        location.setIsFavorite(false);
+        Long id = locationRepository.save(location).getId();
+
+        assertTrue(locationRepository.findById(id).isEmpty(), "findById should have been answered by the replica");
+        assertEquals("Stellenbosch", locationRepository.findByIdOnPrimary(id).orElseThrow().getName());
+    }
+
+    // A hot standby cannot read the unlogged cache table, so the shared cache must not follow the routing
+    @Test
+    void sharedCacheInReadOnlyTransactionsUsesThePrimary() {
+        PostgresCacheStore store = context.getBean(PostgresCacheStore.class);
+        store.put("weather", "1_METRIC", "cached on the primary", Duration.ofMinutes(5));
+
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(true);
+        Object cached = transaction.execute(status -> {
+            store.put("weather", "2_METRIC", "written in a read-only transaction", Duration.ofMinutes(5));
+            return store.get("weather", "1_METRIC");
+        });
+
+        assertEquals("cached on the primary", cached);
+        String count = "SELECT count(*) FROM cache_entries";
+        assertEquals(2, new JdbcTemplate(primaryServer.getDataSource()).queryForObject(count, Integer.class));
+        assertEquals(0, new JdbcTemplate(replicaServer.getDataSource()).queryForObject(count, Integer.class));
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = LocationRepository.class, includeFilters =
+            @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = LocationRepository.class))
+    static class JpaConfig {
+        private static HikariDataSource pool(TestPostgres server, String name) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl(server.getJdbcUrl());
+            pool.setUsername("postgres");
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(2);
+            return pool;
+        }
+
+        @Bean
+        ReplicaRoutingDataSource dataSource() {
+            HikariDataSource primary = pool(primaryServer, "primary");
+            ReadReplicaDataSource replicas = new ReadReplicaDataSource(primary,
+                    List.of(pool(replicaServer, "replica-1")), Duration.ofSeconds(5), Duration.ofHours(1),
+                    new SimpleMeterRegistry());
+            replicas.checkHealth();
+            return new ReplicaRoutingDataSource(primary, replicas);
+        }
+
+        @Bean
+        PostgresCacheStore cacheStore(ReplicaRoutingDataSource dataSource) {
+            return new PostgresCacheStore(new JdbcTemplate(dataSource), new JdbcTemplate(dataSource.getPrimary()),
+                    "node-1");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setManagedTypes(PersistenceManagedTypes.of(Location.class.getName()));
+            return factory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+    }
+}
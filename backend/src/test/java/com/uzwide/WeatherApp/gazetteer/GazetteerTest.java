@@ -0,0 +1,83 @@
+package com.uzwide.WeatherApp.gazetteer;
+
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GazetteerTest {
+
+    private Gazetteer gazetteer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String csv = """
+                name,country,latitude,longitude,population
+                Paris,FR,48.8566,2.3522,2148271
+                Paris,US,33.6609,-95.5555,24171
+                Parma,IT,44.8015,10.3279,195687
+                São Paulo,BR,-23.5505,-46.6333,12325232
+                Cape Town,ZA,-33.9249,18.4241,3433441
+                """;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GazetteerWriter.write(GazetteerWriter.readCsv(new StringReader(csv)), out);
+        gazetteer = new Gazetteer(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    private List<String> names(List<GazetteerPlaceDTO> places) {
+        return places.stream().map(place -> place.getName() + "," + place.getCountry()).toList();
+    }
+
+    @Test
+    void searchReturnsPrefixMatchesByPopulation() {
+        assertEquals(List.of("Paris,FR", "Parma,IT", "Paris,US"), names(gazetteer.search("par", null, 10)));
+        assertEquals(List.of("Paris,FR"), names(gazetteer.search("PAR", null, 1)));
+    }
+
+    @Test
+    void searchRanksEveryPrefixMatchByPopulation() throws IOException {
+        StringBuilder csv = new StringBuilder("name,country,latitude,longitude,population\n");
+        for (int i = 0; i < 2_500; i++) {
+            csv.append(String.format("Saint %04d,FR,45.0,1.0,%d\n", i, 1_000 + i));
+        }
+        csv.append("Saint Petersburg,RU,59.9343,30.3351,5384342\n");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GazetteerWriter.write(GazetteerWriter.readCsv(new StringReader(csv.toString())), out);
+        Gazetteer large = new Gazetteer(ByteBuffer.wrap(out.toByteArray()));
+
+        // "Saint Petersburg" sorts after all 2,500 numbered places
+        assertEquals(List.of("Saint Petersburg,RU", "Saint 2499,FR", "Saint 2498,FR"),
+                names(large.search("saint", null, 3)));
+    }
+
+    @Test
+    void searchFiltersByCountryAndIgnoresAccents() {
+        assertEquals(List.of("Paris,US"), names(gazetteer.search("par", "US", 10)));
+        assertEquals(List.of("São Paulo,BR"), names(gazetteer.search("sao", null, 10)));
+        assertTrue(gazetteer.search("zzz", null, 10).isEmpty());
+    }
+
+    @Test
+    void resolvePrefersExactNameAndLargestPopulation() {
+        Optional<GazetteerPlaceDTO> paris = gazetteer.resolve("paris", null);
+        assertEquals("FR", paris.orElseThrow().getCountry());
+        assertEquals(33.6609, gazetteer.resolve("Paris", "US").orElseThrow().getLatitude(), 1e-4);
+        assertEquals(-33.9249, gazetteer.resolve("cape town", "ZA").orElseThrow().getLatitude(), 1e-4);
+        assertTrue(gazetteer.resolve("Par", null).isEmpty());
+    }
+
+    @Test
+    void rejectsFilesWithoutGazetteerHeader() {
+        assertThrows(IllegalStateException.class, () -> new Gazetteer(ByteBuffer.allocate(16)));
+    }
+}
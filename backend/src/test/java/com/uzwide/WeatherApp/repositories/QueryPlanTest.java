@@ -0,0 +1,176 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.support.TestPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Asserts the plans PostgreSQL chooses for the hot queries, on a throwaway server migrated with the
+ * real Flyway scripts and filled with 5,000 locations and 20 days of history. A dropped index, a
+ * migration that changes an access path, or a query rewritten so it no longer matches its index
+ * fails here instead of showing up as a slow endpoint.
+ */
+class QueryPlanTest {
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final int LOCATIONS = 5_000;
+    private static final int SNAPSHOTS_PER_LOCATION = 40;
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private static TestPostgres postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = TestPostgres.start();
+        DataSource dataSource = postgres.getDataSource();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        seed();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    // 100 countries of 50 locations. Snapshots are inserted in fetch order, every location once per
+    // half hour, as the scheduler writes them
+    private static void seed() {
+        Timestamp now = Timestamp.valueOf(NOW);
+        jdbcTemplate.update("INSERT INTO locations (name, country, latitude, longitude, display_name, is_favorite, created_at, updated_at) "
+                + "SELECT 'City ' || i, chr(65 + i % 10) || chr(65 + i / 10 % 10), i % 90, i % 180, "
+                + "CASE WHEN i % 2 = 0 THEN 'Display ' || i END, i % 50 = 0, ?, ? "
+                + "FROM generate_series(1, ?) i", now, now, LOCATIONS);
+        jdbcTemplate.update("INSERT INTO weather_conditions (weather_condition, weather_description, weather_icon) "
+                + "VALUES ('Clouds', 'scattered clouds', '03d')");
+        jdbcTemplate.update("INSERT INTO weather_snapshots (location_id, temperature, feels_like, humidity, pressure, "
+                + "wind_speed, wind_direction, condition_id, cloudiness, visibility, fetched_at, observed_at, created_at) "
+                + "SELECT l.id, 20, 19, 60, 1013, 3.5, 180, 1, 40, 10000, f.at, f.at, f.at "
+                + "FROM generate_series(?::int - 1, 0, -1) t "
+                + "CROSS JOIN LATERAL (SELECT ?::timestamp - t * interval '30 minutes' AS at) f "
+                + "CROSS JOIN locations l ORDER BY f.at, l.id", SNAPSHOTS_PER_LOCATION, now);
+        jdbcTemplate.update("INSERT INTO latest_weather (location_id, temperature, feels_like, humidity, pressure, "
+                + "wind_speed, wind_direction, condition_id, cloudiness, visibility, fetched_at, observed_at, updated_at) "
+                + "SELECT id, 20, 19, 60, 1013, 3.5, 180, 1, 40, 10000, w.at, ?, w.at FROM locations "
+                + "CROSS JOIN LATERAL (SELECT ?::timestamp - (id % 1800) * interval '1 second' AS at) w", now, now);
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @Test
+    void currentWeatherIsOneLookupInLatestWeather() {
+        List<JsonNode> plan = explain("SELECT * FROM latest_weather WHERE location_id = ?", 42L);
+
+        assertUsesIndex(plan, "latest_weather_pkey");
+    }
+
+    @Test
+    void deltaSyncReadsOnlyRecentlyWrittenRows() {
+        List<JsonNode> plan = explain("SELECT location_id FROM latest_weather WHERE updated_at > ?",
+                Timestamp.valueOf(NOW.minusMinutes(1)));
+
+        assertUsesIndex(plan, "idx_latest_weather_updated_at");
+    }
+
+    // A day of one location's history is a few dozen rows on as many pages; sorting them is cheap
+    @Test
+    void locationHistoryUsesTheLocationIndex() {
+        List<JsonNode> plan = explain("SELECT * FROM weather_snapshots WHERE location_id = ? AND fetched_at > ? "
+                + "ORDER BY fetched_at DESC", 42L, Timestamp.valueOf(NOW.minusDays(1)));
+
+        assertUsesIndex(plan, "idx_weather_snapshots_location_fetched");
+    }
+
+    @Test
+    void retentionScanUsesTheBrinIndex() {
+        List<JsonNode> plan = explain("SELECT id FROM weather_snapshots WHERE fetched_at < ?",
+                Timestamp.valueOf(NOW.minusDays(18)));
+
+        assertUsesIndex(plan, "idx_weather_snapshots_fetched_at_brin");
+    }
+
+    @Test
+    void listingPagesWalkTheListingIndexInOrder() {
+        List<JsonNode> firstPage = explainPage(null, null);
+        List<JsonNode> nextPage = explainPage(null, new LocationCursor(false, "Display 2000", "City 2000", 2000L));
+
+        assertUsesIndex(firstPage, "idx_locations_listing");
+        assertNoSort(firstPage);
+        assertUsesIndex(nextPage, "idx_locations_listing");
+        assertNoSort(nextPage);
+    }
+
+    // A country holds few enough rows that the planner may sort them rather than walk the index in order
+    @Test
+    void countryPagesUseTheCountryListingIndex() {
+        assertUsesIndex(explainPage("BA", null), "idx_locations_country_listing");
+        assertUsesIndex(explainPage("BA", new LocationCursor(false, "Display 10", "City 10", 10L)),
+                "idx_locations_country_listing");
+    }
+
+    /**
+     * The plan of the query {@link LocationRepositoryImpl#findPage} actually builds for these filters.
+     */
+    private static List<JsonNode> explainPage(String country, LocationCursor after) {
+        List<List<JsonNode>> plans = new ArrayList<>();
+        LocationRepositoryImpl repository = new LocationRepositoryImpl(new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                plans.add(explain(sql, args));
+                return List.of();
+            }
+        });
+        repository.findPage(null, country, null, after, 50);
+        return plans.get(0);
+    }
+
+    private static List<JsonNode> explain(String sql, Object... args) {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        List<JsonNode> nodes = new ArrayList<>();
+        collect(JSON.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> nodes) {
+        nodes.add(node);
+        node.path("Plans").forEach(child -> collect(child, nodes));
+    }
+
+    private static void assertUsesIndex(List<JsonNode> plan, String index) {
+        assertTrue(plan.stream().anyMatch(node -> index.equals(node.path("Index Name").asString(null))),
+                () -> "Expected a scan of " + index + ", got " + describe(plan));
+        assertFalse(plan.stream().anyMatch(node -> "Seq Scan".equals(node.path("Node Type").asString())),
+                () -> "Unexpected sequential scan: " + describe(plan));
+    }
+
+    private static void assertNoSort(List<JsonNode> plan) {
+        assertFalse(plan.stream().anyMatch(node -> node.path("Node Type").asString().contains("Sort")),
+                () -> "Expected rows in index order, got " + describe(plan));
+    }
+
+    private static String describe(List<JsonNode> plan) {
+        return plan.stream()
+                .map(node -> node.path("Node Type").asString()
+                        + (node.has("Index Name") ? " using " + node.path("Index Name").asString() : "")
+                        + (node.has("Relation Name") ? " on " + node.path("Relation Name").asString() : ""))
+                .collect(Collectors.joining(" -> "));
+    }
+}
@@ -0,0 +1,38 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.model.WeatherCondition;
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SnapshotColumnsTest {
+
+    private static WeatherSnapshot snapshot(long locationId, WeatherCondition condition) {
+        Location location = new Location();
+        location.setId(locationId);
+        WeatherSnapshot snapshot = new WeatherSnapshot();
+        snapshot.setLocation(location);
+        snapshot.setCondition(condition);
+        snapshot.setTemperature(21.37);
+        snapshot.setFetchedAt(LocalDateTime.of(2026, 10, 19, 12, 0));
+        return snapshot;
+    }
+
+    @Test
+    void readingWithoutConditionBindsANullConditionId() {
+        Object[] columns = SnapshotColumns.of(List.of(
+                snapshot(1, new WeatherCondition((short) 3, "Clouds", "scattered clouds", "03d")),
+                snapshot(2, null)));
+
+        assertEquals(13, columns.length);
+        assertArrayEquals(new Long[]{1L, 2L}, (Long[]) columns[0]);
+        assertArrayEquals(new Short[]{3, null}, (Short[]) columns[7]);
+        assertArrayEquals(new String[]{null, null}, (String[]) columns[11]);
+    }
+}
@@ -0,0 +1,92 @@
+package com.uzwide.WeatherApp.repositories;
+
+import com.uzwide.WeatherApp.model.WeatherCondition;
+import com.uzwide.WeatherApp.support.TestPostgres;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Runs against a one-connection pool, so any lookup that needed a second connection while the
+ * caller's transaction holds the first would wait for the pool's timeout and fail.
+ */
+class WeatherConditionDictionaryTest {
+    private static TestPostgres postgres;
+    private static HikariDataSource pool;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transaction;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = TestPostgres.start();
+        Flyway.configure().dataSource(postgres.getDataSource()).load().migrate();
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(postgres.getJdbcUrl());
+        pool.setUsername("postgres");
+        pool.setMaximumPoolSize(1);
+        pool.setConnectionTimeout(2000);
+        jdbcTemplate = new JdbcTemplate(pool);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(pool));
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        if (pool != null) {
+            pool.close();
+        }
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    private static int rows(String condition) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM weather_conditions WHERE weather_condition = ?",
+                Integer.class, condition);
+    }
+
+    @Test
+    void newEntryIsAddedOnTheCallersConnection() {
+        WeatherConditionDictionary dictionary = new WeatherConditionDictionary(jdbcTemplate);
+
+        WeatherCondition added = transaction.execute(status -> dictionary.intern("Clouds", "scattered clouds", "03d"));
+
+        assertEquals(1, rows("Clouds"));
+        assertSame(dictionary.get(added.id()), dictionary.intern("Clouds", "scattered clouds", "03d"));
+    }
+
+    @Test
+    void entryAddedInARolledBackTransactionIsAddedAgain() {
+        WeatherConditionDictionary dictionary = new WeatherConditionDictionary(jdbcTemplate);
+
+        transaction.executeWithoutResult(status -> {
+            dictionary.intern("Squall", "squalls", "50d");
+            status.setRollbackOnly();
+        });
+        WeatherCondition added = dictionary.intern("Squall", "squalls", "50d");
+
+        assertEquals(1, rows("Squall"));
+        assertEquals(added, new WeatherConditionDictionary(jdbcTemplate).get(added.id()));
+    }
+
+    @Test
+    void missingStringsAreStoredEmptyAndMatchedAgain() {
+        WeatherConditionDictionary dictionary = new WeatherConditionDictionary(jdbcTemplate);
+
+        WeatherCondition first = dictionary.intern("Haze", null, null);
+        WeatherCondition second = new WeatherConditionDictionary(jdbcTemplate).intern("Haze", null, null);
+
+        assertEquals(new WeatherCondition(first.id(), "Haze", "", ""), first);
+        assertEquals(first, second);
+        assertEquals(1, rows("Haze"));
+    }
+}
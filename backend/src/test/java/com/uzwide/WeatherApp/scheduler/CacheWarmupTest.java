@@ -0,0 +1,137 @@
+package com.uzwide.WeatherApp.scheduler;
+
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.UserPreferencesDTO;
+import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.service.ForecastService;
+import com.uzwide.WeatherApp.service.UserPreferencesService;
+import com.uzwide.WeatherApp.service.WeatherService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmupTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private WeatherService weatherService;
+
+    @Mock
+    private ForecastService forecastService;
+
+    @Mock
+    private UserPreferencesService userPreferencesService;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager("weather", "forecast");
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CacheWarmup cacheWarmup;
+
+    private final Location favorite = createLocation(1L, "Cape Town", true);
+    private final Location other = createLocation(2L, "Durban", false);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cacheWarmup, "enabled", true);
+        ReflectionTestUtils.setField(cacheWarmup, "timeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(cacheWarmup, "parallelism", 1);
+        ReflectionTestUtils.setField(cacheWarmup, "forecastPrefetch", 10);
+    }
+
+    private Location createLocation(Long id, String name, boolean isFavorite) {
+        Location location = new Location();
+        location.setId(id);
+        location.setName(name);
+        location.setCountry("ZA");
+        location.setIsFavorite(isFavorite);
+        return location;
+    }
+
+    private void givenLocations() {
+        when(locationRepository.findByIsFavoriteTrue()).thenReturn(List.of(favorite));
+        when(locationRepository.findAllOrdered()).thenReturn(List.of(other, favorite));
+        when(userPreferencesService.getUserPreferences())
+                .thenReturn(UserPreferencesDTO.builder().defaultUnits(Units.IMPERIAL).build());
+    }
+
+    @Test
+    void warmsWeatherCacheInPreferredUnitsFavoritesFirst() throws Exception {
+        givenLocations();
+        WeatherResponseDTO capeTown = WeatherResponseDTO.builder().locationId(1L).temperature(21.0).build();
+        when(weatherService.getLatestWeather(List.of(favorite, other), Units.IMPERIAL)).thenReturn(Map.of(1L, capeTown));
+
+        cacheWarmup.run(null);
+
+        assertEquals(capeTown, cacheManager.getCache("weather").get("1_IMPERIAL").get());
+        assertNull(cacheManager.getCache("weather").get("1_METRIC"));
+        assertNull(cacheManager.getCache("weather").get("2_IMPERIAL"));
+    }
+
+    @Test
+    void prefetchesForecastsWithinBudgetInPreferredUnits() throws Exception {
+        givenLocations();
+        ReflectionTestUtils.setField(cacheWarmup, "forecastPrefetch", 1);
+        when(weatherService.getLatestWeather(any(), any(Units.class))).thenReturn(Map.of());
+
+        cacheWarmup.run(null);
+
+        verify(forecastService).getForecast(1L, Units.IMPERIAL);
+        verify(forecastService, never()).getForecast(eq(2L), any());
+    }
+
+    @Test
+    void stopsAtDeadlineAndRecordsTimeout() throws Exception {
+        givenLocations();
+        ReflectionTestUtils.setField(cacheWarmup, "timeout", Duration.ofMillis(200));
+        when(weatherService.getLatestWeather(any(), any(Units.class))).thenReturn(Map.of());
+        when(forecastService.getForecast(anyLong(), any())).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of();
+        });
+
+        long start = System.nanoTime();
+        cacheWarmup.run(null);
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toSeconds() < 5);
+        assertNotNull(meterRegistry.find("weather.warmup.duration").tag("outcome", "timed_out").timer());
+    }
+
+    @Test
+    void doesNothingWhenDisabled() throws Exception {
+        ReflectionTestUtils.setField(cacheWarmup, "enabled", false);
+
+        cacheWarmup.run(null);
+
+        verifyNoInteractions(locationRepository, weatherService, forecastService);
+    }
+}
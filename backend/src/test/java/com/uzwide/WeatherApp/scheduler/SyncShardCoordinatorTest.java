@@ -0,0 +1,75 @@
+package com.uzwide.WeatherApp.scheduler;
+
+import com.uzwide.WeatherApp.support.TestPostgres;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncShardCoordinatorTest {
+    private static TestPostgres postgres;
+    private static JdbcTemplate admin;
+
+    private SyncShardCoordinator first;
+    private SyncShardCoordinator second;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = TestPostgres.start();
+        admin = new JdbcTemplate(postgres.getDataSource());
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        first = coordinator();
+        second = coordinator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.destroy();
+        second.destroy();
+    }
+
+    private static SyncShardCoordinator coordinator() {
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl(postgres.getJdbcUrl());
+        properties.setUsername("postgres");
+        properties.setPassword("trusted");
+        return new SyncShardCoordinator(properties, 4, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void sweepLearnsItsLocksAreGoneOnceTheConnectionDrops() {
+        SyncShardCoordinator.ShardAssignment assignment = first.claim().orElseThrow();
+        assertEquals(Set.of(0, 1, 2, 3), assignment.shards());
+        assertTrue(first.holds(assignment));
+
+        // The session holding the shard locks, as a dropped connection would end it
+        admin.queryForList("SELECT pg_terminate_backend(pid) FROM pg_locks "
+                + "WHERE locktype = 'advisory' AND objid = 1 AND objsubid = 2 AND granted");
+        SyncShardCoordinator.ShardAssignment takenOver = second.claim().orElseThrow();
+
+        assertFalse(first.holds(assignment));
+        assertEquals(Set.of(0, 1, 2, 3), takenOver.shards());
+        assertTrue(second.holds(takenOver));
+    }
+}
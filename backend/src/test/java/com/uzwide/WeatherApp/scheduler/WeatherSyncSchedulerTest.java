@@ -6,14 +6,20 @@ import com.uzwide.WeatherApp.model.Location;
 import com.uzwide.WeatherApp.repositories.LocationRepository;
 import com.uzwide.WeatherApp.service.UserPreferencesService;
 import com.uzwide.WeatherApp.service.WeatherService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -30,6 +36,12 @@ class WeatherSyncSchedulerTest {
     @Mock
     private UserPreferencesService userPreferencesService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private SyncShardCoordinator shardCoordinator;
+
     @InjectMocks
     private WeatherSyncScheduler weatherSyncScheduler;
 
@@ -43,6 +55,11 @@ class WeatherSyncSchedulerTest {
         return location;
     }
 
+    private void ownAllShards() {
+        when(shardCoordinator.claim()).thenReturn(Optional.of(new SyncShardCoordinator.ShardAssignment(1, Set.of(0))));
+        when(shardCoordinator.holds(any())).thenReturn(true);
+    }
+
     @Test
     void syncSkipsWhenAutoRefreshDisabled() {
         UserPreferencesDTO prefs = UserPreferencesDTO.builder()
@@ -80,6 +97,7 @@ class WeatherSyncSchedulerTest {
 
         when(userPreferencesService.getUserPreferences()).thenReturn(prefs);
         when(locationRepository.findAllOrdered()).thenReturn(List.of(loc1, loc2));
+        ownAllShards();
 
         weatherSyncScheduler.syncAllLocations();
 
@@ -97,6 +115,7 @@ class WeatherSyncSchedulerTest {
 
         when(userPreferencesService.getUserPreferences()).thenReturn(prefs);
         when(locationRepository.findAllOrdered()).thenReturn(List.of(loc));
+        ownAllShards();
 
         weatherSyncScheduler.syncAllLocations();
 
@@ -114,11 +133,70 @@ class WeatherSyncSchedulerTest {
 
         when(userPreferencesService.getUserPreferences()).thenReturn(prefs);
         when(locationRepository.findAllOrdered()).thenReturn(List.of(loc1, loc2));
+        ownAllShards();
         doThrow(new RuntimeException("API error")).when(weatherService).refreshWeather(eq(1L), any());
 
         weatherSyncScheduler.syncAllLocations();
 
         verify(weatherService).refreshWeather(1L, Units.METRIC);
         verify(weatherService).refreshWeather(2L, Units.METRIC);
+        assertEquals(1.0, meterRegistry.counter("weather.sync.locations", "result", "success").count());
+        assertEquals(1.0, meterRegistry.counter("weather.sync.locations", "result", "failure").count());
+        assertEquals(1L, meterRegistry.timer("weather.sync.duration").count());
+    }
+
+    @Test
+    void syncRefreshesOnlyLocationsInOwnedShards() {
+        UserPreferencesDTO prefs = UserPreferencesDTO.builder()
+                .autoRefreshEnabled(true)
+                .defaultUnits(Units.METRIC)
+                .build();
+        when(userPreferencesService.getUserPreferences()).thenReturn(prefs);
+        when(locationRepository.findAllOrdered()).thenReturn(List.of(
+                createLocation(1L, "Cape Town"), createLocation(2L, "Johannesburg"), createLocation(5L, "Durban")));
+        when(shardCoordinator.claim()).thenReturn(Optional.of(new SyncShardCoordinator.ShardAssignment(4, Set.of(1))));
+        when(shardCoordinator.holds(any())).thenReturn(true);
+
+        weatherSyncScheduler.syncAllLocations();
+
+        verify(weatherService).refreshWeather(1L, Units.METRIC);
+        verify(weatherService).refreshWeather(5L, Units.METRIC);
+        verify(weatherService, never()).refreshWeather(eq(2L), any());
+    }
+
+    @Test
+    void syncStopsWhenShardLocksAreLost() {
+        UserPreferencesDTO prefs = UserPreferencesDTO.builder()
+                .autoRefreshEnabled(true)
+                .defaultUnits(Units.METRIC)
+                .build();
+        when(userPreferencesService.getUserPreferences()).thenReturn(prefs);
+        when(locationRepository.findAllOrdered()).thenReturn(List.of(
+                createLocation(1L, "Cape Town"), createLocation(2L, "Johannesburg"), createLocation(3L, "Durban")));
+        ownAllShards();
+        when(shardCoordinator.holds(any())).thenReturn(true, false);
+
+        weatherSyncScheduler.syncAllLocations();
+
+        verify(weatherService).refreshWeather(1L, Units.METRIC);
+        verify(weatherService, never()).refreshWeather(eq(2L), any());
+        verify(weatherService, never()).refreshWeather(eq(3L), any());
+        assertEquals(1.0, meterRegistry.counter("weather.sync.locations", "result", "success").count());
+        assertEquals(0.0, meterRegistry.counter("weather.sync.locations", "result", "failure").count());
+        assertEquals(2.0, meterRegistry.counter("weather.sync.locations", "result", "abandoned").count());
+    }
+
+    @Test
+    void syncSkipsSweepWhenCoordinationUnavailable() {
+        UserPreferencesDTO prefs = UserPreferencesDTO.builder()
+                .autoRefreshEnabled(true)
+                .build();
+        when(userPreferencesService.getUserPreferences()).thenReturn(prefs);
+        when(shardCoordinator.claim()).thenReturn(Optional.empty());
+
+        weatherSyncScheduler.syncAllLocations();
+
+        verify(locationRepository, never()).findAllOrdered();
+        verify(weatherService, never()).refreshWeather(any(), any());
     }
 }
@@ -0,0 +1,184 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.request.AlertRuleDTO;
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.model.AlertRule;
+import com.uzwide.WeatherApp.model.AlertRule.Metric;
+import com.uzwide.WeatherApp.model.AlertRule.Operator;
+import com.uzwide.WeatherApp.model.WeatherAlert;
+import com.uzwide.WeatherApp.model.WeatherCondition;
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import com.uzwide.WeatherApp.repositories.AlertRuleRepository;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.repositories.WeatherAlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertServiceTest {
+
+    @Mock
+    private AlertRuleRepository alertRuleRepository;
+
+    @Mock
+    private WeatherAlertRepository weatherAlertRepository;
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(alertService, "writerQueue", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        alertService.destroy();
+    }
+
+    private AlertRule rule(long id, Long locationId, Metric metric, Operator operator, Double threshold) {
+        AlertRule rule = new AlertRule();
+        rule.setId(id);
+        rule.setLocationId(locationId);
+        rule.setMetric(metric);
+        rule.setOperator(operator);
+        rule.setThreshold(threshold);
+        return rule;
+    }
+
+    private WeatherSnapshot reading(double temperature, int humidity, String condition) {
+        return reading(temperature, humidity, condition, Units.METRIC);
+    }
+
+    private WeatherSnapshot reading(double temperature, int humidity, String condition, Units units) {
+        WeatherSnapshot snapshot = new WeatherSnapshot();
+        snapshot.setTemperature(temperature);
+        snapshot.setFeelsLike(temperature);
+        snapshot.setHumidity(humidity);
+        snapshot.setPressure(1013);
+        snapshot.setWindSpeed(3.0);
+        snapshot.setCondition(new WeatherCondition((short) 1, condition, condition.toLowerCase(), "01d"));
+        snapshot.setFetchedAt(LocalDateTime.now());
+        snapshot.setUnits(units);
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<WeatherAlert> storedAlerts(int batches) {
+        ArgumentCaptor<List<WeatherAlert>> saved = ArgumentCaptor.forClass(List.class);
+        verify(weatherAlertRepository, timeout(2000).times(batches)).saveAll(saved.capture());
+        return saved.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void onlyRulesForTheLocationAndGlobalRulesAreEvaluated() {
+        AlertRule hot = rule(1, 7L, Metric.TEMPERATURE, Operator.ABOVE, 30.0);
+        AlertRule otherLocation = rule(2, 8L, Metric.TEMPERATURE, Operator.ABOVE, 0.0);
+        AlertRule humid = rule(3, null, Metric.HUMIDITY, Operator.CHANGE, 30.0);
+        AlertRuleIndex index = new AlertRuleIndex(List.of(hot, otherLocation, humid));
+
+        List<WeatherAlert> alerts = index.evaluate(7L,
+                AlertRuleIndex.Observation.of(reading(25, 40, "Clear"), Units.METRIC),
+                AlertRuleIndex.Observation.of(reading(31, 75, "Clear"), Units.METRIC),
+                LocalDateTime.now());
+
+        assertEquals(List.of(3L, 1L), alerts.stream().map(WeatherAlert::getRuleId).toList());
+        assertEquals("Humidity changed by 35.0 (40.0 to 75.0)", alerts.get(0).getMessage());
+        assertEquals(31.0, alerts.get(1).getValue());
+    }
+
+    @Test
+    void thresholdAndConditionRulesFireWhenCrossedNotWhileHeld() {
+        AlertRule storm = rule(1, null, Metric.CONDITION, Operator.EQUALS, null);
+        storm.setCondition("Thunderstorm");
+        when(alertRuleRepository.findByEnabledTrue())
+                .thenReturn(List.of(rule(2, null, Metric.TEMPERATURE, Operator.ABOVE, 30.0), storm));
+
+        alertService.evaluate(7L, reading(28, 50, "Clouds"), reading(32, 50, "Thunderstorm"), Units.METRIC);
+        alertService.evaluate(7L, null, reading(33, 50, "Thunderstorm"), Units.METRIC);
+
+        List<WeatherAlert> alerts = storedAlerts(1);
+        assertEquals(List.of(2L, 1L), alerts.stream().map(WeatherAlert::getRuleId).toList());
+        assertEquals("Condition is Thunderstorm", alerts.get(1).getMessage());
+        verify(alertRuleRepository, times(1)).findByEnabledTrue();
+    }
+
+    @Test
+    void readingsAreComparedInMetricUnits() {
+        when(alertRuleRepository.findByEnabledTrue())
+                .thenReturn(List.of(rule(1, null, Metric.TEMPERATURE, Operator.ABOVE, 30.0)));
+
+        // 86°F is 30°C, so this stays at the threshold; 88°F crosses it
+        alertService.evaluate(7L, null, reading(86, 50, "Clear"), Units.IMPERIAL);
+        alertService.evaluate(7L, null, reading(88, 50, "Clear"), Units.IMPERIAL);
+
+        List<WeatherAlert> alerts = storedAlerts(1);
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).getValue() > 31 && alerts.get(0).getValue() < 31.2);
+    }
+
+    @Test
+    void storedReadingIsConvertedWithTheUnitsItWasFetchedIn() {
+        when(alertRuleRepository.findByEnabledTrue()).thenReturn(List.of(
+                rule(1, null, Metric.TEMPERATURE, Operator.ABOVE, 30.0),
+                rule(2, null, Metric.TEMPERATURE, Operator.CHANGE, 5.0)));
+
+        // 86°F stored for location 8 is 30°C: 31°C crosses the threshold and is a change of 1°C
+        alertService.evaluate(8L, reading(86, 50, "Clear", Units.IMPERIAL), reading(31, 50, "Clear"), Units.METRIC);
+        // A stored reading without units cannot be compared, so nothing changed from it
+        alertService.evaluate(9L, reading(86, 50, "Clear", null), reading(20, 50, "Clear"), Units.METRIC);
+
+        List<WeatherAlert> alerts = storedAlerts(1);
+        assertEquals(List.of(1L), alerts.stream().map(WeatherAlert::getRuleId).toList());
+        assertEquals(8L, alerts.get(0).getLocationId());
+        assertEquals(30.0, alerts.get(0).getPreviousValue(), 0.01);
+    }
+
+    @Test
+    void createRuleValidatesAndTakesEffectWithoutReload() {
+        when(alertRuleRepository.findByEnabledTrue()).thenReturn(List.of());
+        when(alertRuleRepository.save(any(AlertRule.class))).thenAnswer(invocation -> {
+            AlertRule saved = invocation.getArgument(0);
+            saved.setId(5L);
+            return saved;
+        });
+        AlertRuleDTO missingThreshold = new AlertRuleDTO();
+        missingThreshold.setMetric(Metric.WIND_SPEED);
+        missingThreshold.setOperator(Operator.ABOVE);
+        assertThrows(IllegalArgumentException.class, () -> alertService.createRule(missingThreshold));
+
+        AlertRuleDTO windy = new AlertRuleDTO();
+        windy.setMetric(Metric.WIND_SPEED);
+        windy.setOperator(Operator.ABOVE);
+        windy.setThreshold(2.0);
+        alertService.createRule(windy);
+        alertService.evaluate(7L, null, reading(20, 50, "Clear"), Units.METRIC);
+
+        assertEquals(List.of(5L), storedAlerts(1).stream().map(WeatherAlert::getRuleId).toList());
+    }
+}
@@ -1,5 +1,7 @@
 package com.uzwide.WeatherApp.service;
 
+import com.uzwide.WeatherApp.dto.response.DailyForecastDTO;
+import com.uzwide.WeatherApp.dto.response.ForecastApiResponseDTO;
 import com.uzwide.WeatherApp.dto.response.ForecastDTO;
 import com.uzwide.WeatherApp.dto.request.Units;
 import com.uzwide.WeatherApp.exception.LocationNotFoundException;
@@ -11,8 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,7 +32,7 @@ class ForecastServiceTest {
     private LocationRepository locationRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private UpstreamClient upstreamClient;
 
     @InjectMocks
     private ForecastService forecastService;
@@ -113,7 +115,7 @@ class ForecastServiceTest {
     void getForecastReturnsForecastDTOs() {
         Location location = createTestLocation();
         when(locationRepository.findById(1L)).thenReturn(Optional.of(location));
-        when(restTemplate.getForObject(anyString(), eq(Map.class)))
+        when(upstreamClient.get(anyString(), eq(Map.class), anyString()))
                 .thenReturn(createApiForecastResponse());
 
         List<ForecastDTO> result = forecastService.getForecast(1L, Units.METRIC);
@@ -138,10 +140,78 @@ class ForecastServiceTest {
     void getForecastThrowsWeatherApiExceptionOnFailure() {
         Location location = createTestLocation();
         when(locationRepository.findById(1L)).thenReturn(Optional.of(location));
-        when(restTemplate.getForObject(anyString(), eq(Map.class)))
+        when(upstreamClient.get(anyString(), eq(Map.class), anyString()))
                 .thenThrow(new RuntimeException("API down"));
 
         assertThrows(WeatherApiException.class,
                 () -> forecastService.getForecast(1L, Units.METRIC));
     }
+
+    private ForecastApiResponseDTO.ForecastItem step(int dt, double min, double max, String condition, String pod,
+                                                     double pop, Double rain) {
+        return ForecastApiResponseDTO.ForecastItem.builder()
+                .dt(dt)
+                .main(ForecastApiResponseDTO.Main.builder().temp_min(min).temp_max(max).build())
+                .weather(List.of(ForecastApiResponseDTO.Weather.builder()
+                        .main(condition).description(condition.toLowerCase()).icon(condition + pod).build()))
+                .sys(ForecastApiResponseDTO.Sys.builder().pod(pod).build())
+                .pop(pop)
+                .rain(rain != null ? ForecastApiResponseDTO.Rain.builder()._3h(rain).build() : null)
+                .build();
+    }
+
+    @Test
+    void dailyForecastGroupsStepsByTheCityTimezone() {
+        // 2023-11-14 21:00Z and 23:00Z fall on the 14th in UTC but the 14th and 15th at UTC+2
+        ForecastApiResponseDTO response = ForecastApiResponseDTO.builder()
+                .city(ForecastApiResponseDTO.City.builder().timezone(7200).build())
+                .list(List.of(
+                        step(1699995600, 18.0, 20.0, "Clear", "n", 0.0, null),
+                        step(1700002800, 15.0, 17.0, "Rain", "n", 0.4, 1.5)))
+                .build();
+
+        List<DailyForecastDTO> daily = forecastService.aggregateDaily(response);
+
+        assertEquals(2, daily.size());
+        assertEquals(LocalDate.of(2023, 11, 14), daily.get(0).getDate());
+        assertEquals(LocalDate.of(2023, 11, 15), daily.get(1).getDate());
+        assertEquals(1, daily.get(1).getIntervals());
+        assertEquals(1.5, daily.get(1).getPrecipitationTotal());
+    }
+
+    @Test
+    void dailyForecastSummarisesEachDay() {
+        ForecastApiResponseDTO response = ForecastApiResponseDTO.builder()
+                .city(ForecastApiResponseDTO.City.builder().timezone(0).build())
+                .list(List.of(
+                        step(1699920000, 12.0, 14.0, "Clouds", "n", 0.1, null),
+                        step(1699930800, 13.0, 15.0, "Rain", "d", 0.7, 2.0),
+                        step(1699941600, 17.0, 21.0, "Clouds", "d", 0.2, null),
+                        step(1699952400, 16.0, 19.0, "Rain", "d", 0.5, 0.5),
+                        step(1699963200, 14.0, 16.0, "Clouds", "d", 0.0, null)))
+                .build();
+
+        DailyForecastDTO day = forecastService.aggregateDaily(response).get(0);
+
+        assertEquals(12.0, day.getMinTemperature());
+        assertEquals(21.0, day.getMaxTemperature());
+        assertEquals(2.5, day.getPrecipitationTotal());
+        assertEquals(0.7, day.getPrecipitationProbability());
+        assertEquals("Clouds", day.getWeatherCondition());
+        assertEquals("Cloudsd", day.getWeatherIcon());
+        assertEquals(5, day.getIntervals());
+    }
+
+    @Test
+    void getDailyForecastAggregatesTheUpstreamForecast() {
+        when(locationRepository.findById(1L)).thenReturn(Optional.of(createTestLocation()));
+        when(upstreamClient.get(anyString(), eq(Map.class), anyString()))
+                .thenReturn(createApiForecastResponse());
+
+        List<DailyForecastDTO> daily = forecastService.getDailyForecast(1L, Units.METRIC);
+
+        assertEquals(1, daily.size());
+        assertEquals(LocalDate.of(2023, 11, 15), daily.get(0).getDate());
+        assertEquals("01d", daily.get(0).getWeatherIcon());
+    }
 }
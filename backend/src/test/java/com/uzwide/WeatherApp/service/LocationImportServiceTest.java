@@ -0,0 +1,172 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.request.LocationDTO;
+import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO.FetchStatus;
+import com.uzwide.WeatherApp.dto.response.LocationImportDTO.ItemStatus;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocationImportServiceTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @Mock
+    private WeatherService weatherService;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @Mock
+    private LocationSearchIndex locationSearchIndex;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private LocationImportService locationImportService;
+
+    private final AtomicLong ids = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(locationImportService, "maxItems", 10);
+        ReflectionTestUtils.setField(locationImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(locationImportService, "fetchConcurrency", 2);
+        lenient().when(weatherService.normalizeCountryCode(any())).thenCallRealMethod();
+        lenient().when(locationRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Location> batch = invocation.getArgument(0);
+            batch.forEach(location -> location.setId(ids.incrementAndGet()));
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        locationImportService.destroy();
+    }
+
+    private LocationDTO location(String name, String country) {
+        LocationDTO dto = new LocationDTO();
+        dto.setName(name);
+        dto.setCountry(country);
+        dto.setLatitude(-33.9);
+        dto.setLongitude(18.4);
+        return dto;
+    }
+
+    private Location existing(Long id, String name, String country) {
+        Location location = new Location();
+        location.setId(id);
+        location.setName(name);
+        location.setCountry(country);
+        return location;
+    }
+
+    @Test
+    void importDedupesWithinTheBatchAndAgainstExistingRows() {
+        when(locationRepository.findExistingByNameAndCountry(anyList()))
+                .thenReturn(List.of(existing(9L, "Durban", "ZA")));
+
+        LocationImportDTO result = locationImportService.importLocations(List.of(
+                location("Cape Town", "za"),
+                location("Cape Town", "ZA"),
+                location("Durban", "ZA"),
+                location("Nowhere", null)));
+
+        List<LocationImportDTO.Item> items = result.getItems();
+        assertEquals(ItemStatus.CREATED, items.get(0).getStatus());
+        assertEquals(ItemStatus.DUPLICATE, items.get(1).getStatus());
+        assertEquals(ItemStatus.DUPLICATE, items.get(2).getStatus());
+        assertEquals(9L, items.get(2).getLocationId());
+        assertEquals(ItemStatus.INVALID, items.get(3).getStatus());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(1, result.getInvalid());
+        verify(locationRepository, times(1)).findExistingByNameAndCountry(anyList());
+    }
+
+    @Test
+    void insertsInBatchesAndFetchesInitialWeatherInTheBackground() throws InterruptedException {
+        when(locationRepository.findExistingByNameAndCountry(anyList())).thenReturn(List.of());
+
+        LocationImportDTO result = locationImportService.importLocations(List.of(
+                location("A", "ZA"), location("B", "ZA"), location("C", "ZA"), location("D", "ZA"), location("E", "ZA")));
+
+        assertEquals(5, result.getCreated());
+        verify(locationRepository, times(3)).insertAll(anyList());
+        verify(locationSearchIndex).putAll(anyList());
+        verify(weatherService, timeout(2000).times(5)).refreshWeather(any(), eq(Units.METRIC));
+
+        await(result.getJobId());
+        LocationImportDTO finished = locationImportService.getImport(result.getJobId()).orElseThrow();
+        assertEquals(LocationImportDTO.JobStatus.COMPLETED, finished.getStatus());
+        assertEquals(5, finished.getFetched());
+        assertEquals(FetchStatus.FETCHED, finished.getItems().get(0).getFetch());
+    }
+
+    @Test
+    void rejectsImportsAboveTheLimit() {
+        ReflectionTestUtils.setField(locationImportService, "maxItems", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> locationImportService.importLocations(
+                List.of(location("A", "ZA"), location("B", "ZA"))));
+        verifyNoInteractions(locationRepository);
+    }
+
+    @Test
+    void parsesCsvWithQuotedFieldsAndReportsBadRowsByLine() {
+        String csv = "Name,Country,Latitude,Longitude,DisplayName\r\n"
+                + "Cape Town,ZA,-33.9,18.4,\"Cape Town, Western Cape\"\r\n"
+                + "\r\n"
+                + "Paarl,ZA,north,18.9,\n";
+
+        List<LocationImportService.ImportRow> rows = LocationImportService.parseCsv(csv);
+
+        assertEquals(2, rows.size());
+        assertEquals("Cape Town, Western Cape", rows.get(0).location().getDisplayName());
+        assertEquals(-33.9, rows.get(0).location().getLatitude());
+        assertNull(rows.get(0).error());
+        assertEquals(4, rows.get(1).row());
+        assertEquals("Latitude and longitude must be numbers", rows.get(1).error());
+    }
+
+    @Test
+    void csvWithoutRequiredColumnsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> LocationImportService.parseCsv("city,lat\nParis,48.8"));
+        verify(geocodingService, never()).resolve(anyString(), anyString());
+    }
+
+    private void await(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (locationImportService.getImport(jobId).orElseThrow().getFetchesPending() > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.dto.response.LocationSuggestionDTO;
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.repositories.LocationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LocationSearchIndexTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    @InjectMocks
+    private LocationSearchIndex locationSearchIndex;
+
+    private Location createLocation(Long id, String name, String displayName, String country) {
+        Location location = new Location();
+        location.setId(id);
+        location.setName(name);
+        location.setDisplayName(displayName);
+        location.setCountry(country);
+        location.setIsFavorite(false);
+        return location;
+    }
+
+    private List<Long> ids(List<LocationSuggestionDTO> suggestions) {
+        return suggestions.stream().map(LocationSuggestionDTO::getLocationId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(locationRepository.findAllOnPrimary()).thenReturn(List.of(
+                createLocation(1L, "Cape Town", "Home", "ZA"),
+                createLocation(2L, "Johannesburg", null, "ZA"),
+                createLocation(3L, "Cairo", null, "EG"),
+                createLocation(4L, "São Paulo", null, "BR")
+        ));
+        locationSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchMatchesNamePrefixCaseInsensitively() {
+        assertEquals(List.of(3L, 1L), ids(locationSearchIndex.search("CA", 10)));
+    }
+
+    @Test
+    void searchMatchesWordsInsideNamesAndIgnoresAccents() {
+        assertEquals(List.of(1L), ids(locationSearchIndex.search("town", 10)));
+        assertEquals(List.of(4L), ids(locationSearchIndex.search("sao p", 10)));
+    }
+
+    @Test
+    void searchMatchesDisplayNameAndCountry() {
+        assertEquals(List.of(1L), ids(locationSearchIndex.search("hom", 10)));
+        assertEquals(List.of(1L, 2L), ids(locationSearchIndex.search("south af", 10)).stream().sorted().toList());
+        assertEquals(List.of(3L), ids(locationSearchIndex.search("egypt", 10)));
+    }
+
+    @Test
+    void searchHonoursLimitAndBlankQueries() {
+        assertEquals(1, locationSearchIndex.search("c", 1).size());
+        assertTrue(locationSearchIndex.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void putAndRemoveKeepIndexInSync() {
+        Location renamed = createLocation(2L, "Johannesburg", "Joburg", "ZA");
+        locationSearchIndex.put(renamed);
+        assertEquals(List.of(2L), ids(locationSearchIndex.search("jobu", 10)));
+
+        locationSearchIndex.remove(3L);
+        assertTrue(locationSearchIndex.search("cairo", 10).isEmpty());
+
+        locationSearchIndex.put(createLocation(5L, "Durban", null, "ZA"));
+        assertEquals(List.of(5L), ids(locationSearchIndex.search("dur", 10)));
+    }
+
+    @Test
+    void changesCommittedWhileTheRebuildQueriesAreKept() {
+        when(locationRepository.findAllOnPrimary()).thenAnswer(invocation -> {
+            locationSearchIndex.put(createLocation(5L, "Durban", null, "ZA"));
+            locationSearchIndex.remove(3L);
+            return List.of(
+                    createLocation(1L, "Cape Town", "Home", "ZA"),
+                    createLocation(3L, "Cairo", null, "EG"));
+        });
+
+        locationSearchIndex.rebuild();
+
+        assertEquals(List.of(5L), ids(locationSearchIndex.search("dur", 10)));
+        assertTrue(locationSearchIndex.search("cairo", 10).isEmpty());
+        assertTrue(locationSearchIndex.search("johan", 10).isEmpty());
+    }
+}
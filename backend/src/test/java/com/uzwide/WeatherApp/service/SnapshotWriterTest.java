@@ -0,0 +1,158 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import com.uzwide.WeatherApp.repositories.LatestWeatherRepository;
+import com.uzwide.WeatherApp.repositories.WeatherSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SnapshotWriterTest {
+
+    @Mock
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+
+    @Mock
+    private LatestWeatherRepository latestWeatherRepository;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SnapshotWriter snapshotWriter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(snapshotWriter, "queueCapacity", 2);
+        ReflectionTestUtils.setField(snapshotWriter, "batchSize", 10);
+        ReflectionTestUtils.setField(snapshotWriter, "maxWait", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(snapshotWriter, "shutdownTimeout", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotWriter.stop();
+    }
+
+    private WeatherSnapshot snapshot(long locationId, int minutesAgo) {
+        Location location = new Location();
+        location.setId(locationId);
+        WeatherSnapshot snapshot = new WeatherSnapshot();
+        snapshot.setLocation(location);
+        snapshot.setFetchedAt(LocalDateTime.now().minusMinutes(minutesAgo));
+        return snapshot;
+    }
+
+    @Test
+    void withoutWriteBehindSnapshotAndCurrentReadingCommitTogether() {
+        snapshotWriter.start();
+
+        snapshotWriter.write(snapshot(1, 0));
+
+        var order = inOrder(transactionTemplate, weatherSnapshotRepository, latestWeatherRepository);
+        order.verify(transactionTemplate).executeWithoutResult(any());
+        order.verify(weatherSnapshotRepository).save(any(WeatherSnapshot.class));
+        order.verify(latestWeatherRepository).upsert(any(WeatherSnapshot.class));
+        verify(weatherSnapshotRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeBehindStoresQueuedSnapshotsInOneBatchAndDrainsOnStop() throws InterruptedException {
+        ReflectionTestUtils.setField(snapshotWriter, "writeBehind", true);
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstBatch.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).doNothing().when(weatherSnapshotRepository).insertAll(anyList());
+        snapshotWriter.start();
+
+        // The first snapshot occupies the writer; the next two fill the queue, the fourth has to wait
+        snapshotWriter.write(snapshot(1, 5));
+        firstBatch.await(5, TimeUnit.SECONDS);
+        WeatherSnapshot newer = snapshot(2, 1);
+        snapshotWriter.write(snapshot(2, 3));
+        snapshotWriter.write(newer);
+        snapshotWriter.write(snapshot(3, 0));
+        release.countDown();
+        snapshotWriter.stop();
+
+        ArgumentCaptor<List<WeatherSnapshot>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(weatherSnapshotRepository, times(2)).insertAll(inserted.capture());
+        assertEquals(2, inserted.getAllValues().get(1).size());
+        ArgumentCaptor<List<WeatherSnapshot>> latest = ArgumentCaptor.forClass(List.class);
+        verify(latestWeatherRepository, times(2)).upsertAll(latest.capture());
+        assertEquals(List.of(newer), latest.getAllValues().get(1));
+        // The snapshot that found the queue full was written by its caller
+        verify(weatherSnapshotRepository).save(argThat(s -> s.getLocation().getId() == 3L));
+        assertEquals(1.0, meterRegistry.counter("weather.snapshots.overflow").count());
+        assertEquals(4.0, meterRegistry.counter("weather.snapshots.inserted").count());
+    }
+
+    @Test
+    void batchWithARejectedRowFallsBackToSingleRowsAndDropsOnlyThatRow() throws InterruptedException {
+        doThrow(new DataIntegrityViolationException("fk"))
+                .doNothing()
+                .doThrow(new DataIntegrityViolationException("fk"))
+                .when(weatherSnapshotRepository).insertAll(anyList());
+
+        snapshotWriter.flush(List.of(snapshot(1, 0), snapshot(99, 0)));
+
+        verify(weatherSnapshotRepository, times(3)).insertAll(anyList());
+        assertEquals(1.0, meterRegistry.counter("weather.snapshots.inserted").count());
+        assertEquals(1.0, meterRegistry.counter("weather.snapshots.dropped").count());
+    }
+
+    @Test
+    void writerKeepsDrainingAfterTheDatabaseWasUnavailableAndAfterAnUnwritableSnapshot() throws InterruptedException {
+        ReflectionTestUtils.setField(snapshotWriter, "writeBehind", true);
+        doThrow(new CannotCreateTransactionException("connection refused"))
+                .doCallRealMethod()
+                .when(transactionTemplate).executeWithoutResult(any());
+        snapshotWriter.start();
+
+        snapshotWriter.write(snapshot(1, 0));
+        snapshotWriter.write(new WeatherSnapshot());
+        verify(weatherSnapshotRepository, timeout(2000)).insertAll(argThat(batch -> batch.size() == 1
+                && batch.get(0).getLocation() != null));
+        snapshotWriter.write(snapshot(2, 0));
+        snapshotWriter.stop();
+
+        verify(weatherSnapshotRepository).insertAll(argThat(batch -> batch.size() == 1
+                && batch.get(0).getLocation() != null && batch.get(0).getLocation().getId() == 2L));
+        verify(weatherSnapshotRepository, never()).save(any(WeatherSnapshot.class));
+        assertEquals(2.0, meterRegistry.counter("weather.snapshots.inserted").count());
+        assertEquals(1.0, meterRegistry.counter("weather.snapshots.dropped").count());
+    }
+}
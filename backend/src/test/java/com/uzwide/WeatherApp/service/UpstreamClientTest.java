@@ -0,0 +1,93 @@
+package com.uzwide.WeatherApp.service;
+
+import com.uzwide.WeatherApp.exception.WeatherApiException;
+import com.uzwide.WeatherApp.support.OpenWeatherStubServer;
+import com.uzwide.WeatherApp.support.OpenWeatherStubServer.LatencyModel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamClientTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private OpenWeatherStubServer stub;
+    private UpstreamClient upstreamClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stub = OpenWeatherStubServer.start(0, LatencyModel.parse("fixed:400"), 0.0);
+        upstreamClient = new UpstreamClient(meterRegistry, Duration.ofSeconds(2), Duration.ofSeconds(5), false,
+                1, Duration.ofMillis(100), 1, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        upstreamClient.destroy();
+        stub.close();
+    }
+
+    private CompletableFuture<Void> call(boolean background) {
+        return CompletableFuture.runAsync(() -> {
+            Runnable get = () -> upstreamClient.get(stub.baseUrl() + "/weather", Map.class, "weather");
+            if (background) {
+                UpstreamClient.background(get);
+            } else {
+                get.run();
+            }
+        }, callers);
+    }
+
+    @Test
+    void interactiveCallsDoNotQueueBehindBackgroundWork() throws Exception {
+        CompletableFuture<?>[] sweep = {call(true), call(true), call(true)};
+        Thread.sleep(100);
+
+        long start = System.nanoTime();
+        assertNotNull(upstreamClient.get(stub.baseUrl() + "/weather", Map.class, "weather"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1000, "interactive call waited " + elapsedMillis + " ms");
+        CompletableFuture.allOf(sweep).get(5, TimeUnit.SECONDS);
+        assertEquals(4, stub.weatherRequests());
+    }
+
+    @Test
+    void interactiveCallFailsFastWhenItsLaneIsFull() throws Exception {
+        CompletableFuture<Void> first = call(false);
+        Thread.sleep(100);
+
+        assertThrows(WeatherApiException.class, () -> upstreamClient.get(stub.baseUrl() + "/weather", Map.class, "weather"));
+        assertEquals(1.0, meterRegistry.counter("weather.upstream.lane.rejected", "traffic", "interactive").count());
+        first.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void callsAreTimedByEndpointOutcomeAndLane() {
+        UpstreamClient.background(() -> upstreamClient.get(stub.baseUrl() + "/forecast", Map.class, "forecast"));
+        assertThrows(HttpClientErrorException.class,
+                () -> upstreamClient.get(stub.baseUrl() + "/missing", Map.class, "weather"));
+
+        assertEquals(1, meterRegistry.timer("weather.upstream.requests",
+                "endpoint", "forecast", "outcome", "success", "traffic", "background").count());
+        assertEquals(1, meterRegistry.timer("weather.upstream.requests",
+                "endpoint", "weather", "outcome", "client_error", "traffic", "interactive").count());
+    }
+}
@@ -0,0 +1,75 @@
+package com.uzwide.WeatherApp.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UpstreamExecutorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamExecutor upstreamExecutor = new UpstreamExecutor(meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(upstreamExecutor, "threads", 1);
+        ReflectionTestUtils.setField(upstreamExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(upstreamExecutor, "timeout", Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        upstreamExecutor.destroy();
+    }
+
+    private String slowCall() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "late";
+    }
+
+    @Test
+    void completesWithTheResultOfTheWork() throws Exception {
+        assertEquals("ok", upstreamExecutor.submit(() -> "ok").get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failsWithTimeoutButLetsTheWorkFinish() throws Exception {
+        CompletableFuture<String> slow = upstreamExecutor.submit(this::slowCall);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> slow.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, failure.getCause());
+
+        CompletableFuture<String> queued = upstreamExecutor.submit(() -> "next");
+        release.countDown();
+        assertEquals("next", queued.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void rejectsWorkWhenPoolAndQueueAreFull() {
+        upstreamExecutor.submit(this::slowCall);
+        upstreamExecutor.submit(this::slowCall);
+
+        assertThrows(RejectedExecutionException.class, () -> upstreamExecutor.submit(() -> "rejected"));
+        assertEquals(1.0, meterRegistry.counter("weather.async.rejected").count());
+    }
+}
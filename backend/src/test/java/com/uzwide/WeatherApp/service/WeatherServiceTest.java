@@ -2,34 +2,61 @@ package com.uzwide.WeatherApp.service;
 
 import com.uzwide.WeatherApp.dto.request.LocationDTO;
 import com.uzwide.WeatherApp.dto.request.Units;
+import com.uzwide.WeatherApp.dto.response.GazetteerPlaceDTO;
+import com.uzwide.WeatherApp.dto.response.LocationPageDTO;
+import com.uzwide.WeatherApp.dto.response.WeatherDeltaDTO;
 import com.uzwide.WeatherApp.dto.response.WeatherResponseDTO;
 import com.uzwide.WeatherApp.exception.DuplicateLocationException;
 import com.uzwide.WeatherApp.exception.LocationNotFoundException;
+import com.uzwide.WeatherApp.model.LatestWeather;
 import com.uzwide.WeatherApp.model.Location;
+import com.uzwide.WeatherApp.model.WeatherCondition;
 import com.uzwide.WeatherApp.model.WeatherSnapshot;
+import com.uzwide.WeatherApp.repositories.LatestWeatherRepository;
+import com.uzwide.WeatherApp.repositories.LocationCursor;
 import com.uzwide.WeatherApp.repositories.LocationRepository;
+import com.uzwide.WeatherApp.repositories.LocationTombstoneRepository;
+import com.uzwide.WeatherApp.repositories.WeatherConditionDictionary;
 import com.uzwide.WeatherApp.repositories.WeatherSnapshotRepository;
+import com.uzwide.WeatherApp.support.OpenWeatherFixtures;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class WeatherServiceTest {
+    private static final WeatherCondition SCATTERED_CLOUDS =
+            new WeatherCondition((short) 2, "Clouds", "scattered clouds", "03d");
 
     @Mock
     private LocationRepository locationRepository;
@@ -38,7 +65,31 @@ class WeatherServiceTest {
     private WeatherSnapshotRepository weatherSnapshotRepository;
 
     @Mock
-    private RestTemplate restTemplate;
+    private UpstreamClient upstreamClient;
+
+    @Mock
+    private LocationSearchIndex locationSearchIndex;
+
+    @Mock
+    private GeocodingService geocodingService;
+
+    @Mock
+    private LocationTombstoneRepository locationTombstoneRepository;
+
+    @Mock
+    private LatestWeatherRepository latestWeatherRepository;
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private SnapshotWriter snapshotWriter;
+
+    @Mock
+    private WeatherConditionDictionary weatherConditionDictionary;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @InjectMocks
     private WeatherService weatherService;
@@ -98,6 +149,59 @@ class WeatherServiceTest {
         verify(locationRepository).save(any(Location.class));
     }
 
+    @Test
+    void addLocationAcceptsCountryAliasAndIndexesSavedLocation() {
+        LocationDTO dto = new LocationDTO();
+        dto.setName("Boston");
+        dto.setCountry("USA");
+        dto.setLatitude(42.3601);
+        dto.setLongitude(-71.0589);
+
+        when(locationRepository.findByNameAndCountry("Boston", "US"))
+                .thenReturn(Optional.empty());
+        when(locationRepository.save(any(Location.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Location saved = weatherService.addLocation(dto);
+
+        assertEquals("US", saved.getCountry());
+        verify(locationSearchIndex).put(saved);
+    }
+
+    @Test
+    void addLocationResolvesMissingCoordinatesFromGazetteer() {
+        LocationDTO dto = new LocationDTO();
+        dto.setName("Durban");
+        dto.setCountry("ZA");
+
+        when(locationRepository.findByNameAndCountry("Durban", "ZA"))
+                .thenReturn(Optional.empty());
+        when(geocodingService.resolve("Durban", "ZA"))
+                .thenReturn(Optional.of(GazetteerPlaceDTO.builder()
+                        .name("Durban").country("ZA").latitude(-29.8587).longitude(31.0218).build()));
+        when(locationRepository.save(any(Location.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Location saved = weatherService.addLocation(dto);
+
+        assertEquals(-29.8587, saved.getLatitude());
+        assertEquals(31.0218, saved.getLongitude());
+    }
+
+    @Test
+    void addLocationThrowsWhenCoordinatesMissingAndPlaceUnknown() {
+        LocationDTO dto = new LocationDTO();
+        dto.setName("Atlantis");
+        dto.setCountry("ZA");
+
+        when(locationRepository.findByNameAndCountry("Atlantis", "ZA"))
+                .thenReturn(Optional.empty());
+        when(geocodingService.resolve("Atlantis", "ZA")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> weatherService.addLocation(dto));
+        verify(locationRepository, never()).save(any(Location.class));
+    }
+
     @Test
     void addLocationThrowsWhenCountryCannotBeNormalized() {
         LocationDTO dto = new LocationDTO();
@@ -148,20 +252,18 @@ class WeatherServiceTest {
         location.setCountry("ZA");
         location.setIsFavorite(true);
 
-        WeatherSnapshot snapshot = new WeatherSnapshot();
+        LatestWeather snapshot = new LatestWeather();
+        snapshot.setLocationId(1L);
         snapshot.setTemperature(24.5);
         snapshot.setFeelsLike(25.0);
         snapshot.setHumidity(72);
         snapshot.setPressure(1012);
         snapshot.setWindSpeed(4.2);
-        snapshot.setWeatherCondition("Clouds");
-        snapshot.setWeatherDescription("few clouds");
-        snapshot.setWeatherIcon("02d");
+        snapshot.setCondition(new WeatherCondition((short) 3, "Clouds", "few clouds", "02d"));
         snapshot.setFetchedAt(LocalDateTime.now());
 
         when(locationRepository.findById(1L)).thenReturn(Optional.of(location));
-        when(weatherSnapshotRepository.findFirstByLocationOrderByFetchedAtDesc(location))
-                .thenReturn(Optional.of(snapshot));
+        when(latestWeatherRepository.findById(1L)).thenReturn(Optional.of(snapshot));
 
         WeatherResponseDTO response = weatherService.getCurrentWeather(1L, Units.METRIC);
 
@@ -172,4 +274,203 @@ class WeatherServiceTest {
         assertEquals("Clouds", response.getWeatherCondition());
         assertTrue(response.getIsFavorite());
     }
+
+    @Test
+    void getLatestWeatherMapsBulkSnapshotsByLocation() {
+        Location durban = new Location();
+        durban.setId(1L);
+        durban.setName("Durban");
+        Location paarl = new Location();
+        paarl.setId(2L);
+        paarl.setName("Paarl");
+
+        when(latestWeatherRepository.findAllById(any())).thenReturn(List.of(latestFor(durban, 24.5)));
+
+        Map<Long, WeatherResponseDTO> latest = weatherService.getLatestWeather(List.of(durban, paarl));
+
+        assertEquals(1, latest.size());
+        assertEquals("Durban", latest.get(1L).getLocationName());
+        assertEquals(24.5, latest.get(1L).getTemperature());
+    }
+
+    @Test
+    void getLatestWeatherInUnitsSkipsReadingsFetchedInOtherUnits() {
+        List<Location> locations = new ArrayList<>();
+        List<LatestWeather> readings = new ArrayList<>();
+        for (Units units : new Units[]{Units.IMPERIAL, Units.METRIC, null}) {
+            Location location = new Location();
+            location.setId((long) locations.size() + 1);
+            location.setName("Location " + location.getId());
+            LatestWeather reading = latestFor(location, 20.0);
+            reading.setUnits(units);
+            locations.add(location);
+            readings.add(reading);
+        }
+        when(latestWeatherRepository.findAllById(any())).thenReturn(readings);
+
+        Map<Long, WeatherResponseDTO> latest = weatherService.getLatestWeather(locations, Units.IMPERIAL);
+
+        assertEquals(Set.of(1L), latest.keySet());
+    }
+
+    private LatestWeather latestFor(Location location, double temperature) {
+        LatestWeather latest = new LatestWeather();
+        latest.setLocationId(location.getId());
+        latest.setTemperature(temperature);
+        latest.setFetchedAt(LocalDateTime.now());
+        return latest;
+    }
+
+    @Test
+    void refreshWeatherStoresSnapshotThenEvaluatesAlerts() {
+        Location location = new Location();
+        location.setId(1L);
+        location.setName("Cape Town");
+        when(locationRepository.findByIdOnPrimary(1L)).thenReturn(Optional.of(location));
+        when(upstreamClient.get(anyString(), eq(Map.class), anyString())).thenReturn(OpenWeatherFixtures.currentWeather());
+        when(latestWeatherRepository.findById(1L)).thenReturn(Optional.empty());
+        when(weatherConditionDictionary.intern("Clouds", "scattered clouds", "03d")).thenReturn(SCATTERED_CLOUDS);
+
+        WeatherResponseDTO response = weatherService.refreshWeather(1L, Units.METRIC);
+
+        var order = inOrder(snapshotWriter, alertService);
+        order.verify(snapshotWriter).write(any(WeatherSnapshot.class));
+        order.verify(alertService).evaluate(eq(1L), eq(null), any(WeatherSnapshot.class), eq(Units.METRIC));
+        assertEquals(1L, response.getLocationId());
+        assertEquals("scattered clouds", response.getWeatherDescription());
+        assertEquals("03d", response.getWeatherIcon());
+    }
+
+    @Test
+    void refreshWeatherStoresReadingWithoutConditionWhenResponseHasNoWeatherArray() {
+        Location location = new Location();
+        location.setId(1L);
+        location.setName("Cape Town");
+        Map<String, Object> response = OpenWeatherFixtures.currentWeather();
+        response.remove("weather");
+        when(locationRepository.findByIdOnPrimary(1L)).thenReturn(Optional.of(location));
+        when(upstreamClient.get(anyString(), eq(Map.class), anyString())).thenReturn(response);
+        when(latestWeatherRepository.findById(1L)).thenReturn(Optional.empty());
+
+        WeatherResponseDTO dto = weatherService.refreshWeather(1L, Units.METRIC);
+
+        ArgumentCaptor<WeatherSnapshot> written = ArgumentCaptor.forClass(WeatherSnapshot.class);
+        verify(snapshotWriter).write(written.capture());
+        assertNull(written.getValue().getCondition());
+        assertNotNull(written.getValue().getTemperature());
+        assertNull(dto.getWeatherCondition());
+        assertNull(dto.getWeatherIcon());
+        verifyNoInteractions(weatherConditionDictionary);
+    }
+
+    @Test
+    void refreshWeatherOnlyTouchesFetchTimeForRepeatedObservation() {
+        Location location = new Location();
+        location.setId(1L);
+        location.setName("Cape Town");
+        when(weatherConditionDictionary.intern("Clouds", "scattered clouds", "03d")).thenReturn(SCATTERED_CLOUDS);
+        WeatherSnapshot fetched = weatherService.mapToWeatherSnapshot(OpenWeatherFixtures.currentWeather(), location);
+        LatestWeather stored = latestFor(location, fetched.getTemperature());
+        stored.setFeelsLike(fetched.getFeelsLike());
+        stored.setWindSpeed(fetched.getWindSpeed());
+        stored.setObservedAt(fetched.getObservedAt());
+        when(locationRepository.findByIdOnPrimary(1L)).thenReturn(Optional.of(location));
+        when(upstreamClient.get(anyString(), eq(Map.class), anyString())).thenReturn(OpenWeatherFixtures.currentWeather());
+        when(latestWeatherRepository.findById(1L)).thenReturn(Optional.of(stored));
+
+        weatherService.refreshWeather(1L, Units.METRIC);
+
+        verify(latestWeatherRepository).touch(eq(1L), any(LocalDateTime.class));
+        verify(snapshotWriter, never()).write(any());
+        verify(alertService, never()).evaluate(any(), any(), any(), any());
+
+        // Same observation, but the stored copy was fetched in other units
+        stored.setTemperature(70.47);
+        weatherService.refreshWeather(1L, Units.METRIC);
+
+        verify(snapshotWriter).write(any(WeatherSnapshot.class));
+        assertEquals(1.0, meterRegistry.counter("weather.snapshots.unchanged").count());
+    }
+
+    @Test
+    void getLocationChangesReturnsUpdatedRefreshedAndDeletedLocations() {
+        ReflectionTestUtils.setField(weatherService, "deltaOverlap", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(weatherService, "tombstoneRetention", Duration.ofDays(7));
+        LocalDateTime since = LocalDateTime.now().minusMinutes(10);
+        Location renamed = new Location();
+        renamed.setId(1L);
+        renamed.setName("Durban");
+        Location refreshed = new Location();
+        refreshed.setId(2L);
+        refreshed.setName("Paarl");
+
+        when(locationRepository.findByUpdatedAtAfter(since)).thenReturn(List.of(renamed));
+        when(latestWeatherRepository.findLocationIdsUpdatedAfter(since)).thenReturn(List.of(1L, 2L));
+        when(locationRepository.findAllById(List.of(2L))).thenReturn(List.of(refreshed));
+        when(latestWeatherRepository.findAllById(any()))
+                .thenReturn(List.of(latestFor(renamed, 24.5), latestFor(refreshed, 18.0)));
+        when(locationTombstoneRepository.findLocationIdsDeletedAfter(since)).thenReturn(List.of(7L));
+
+        WeatherDeltaDTO delta = weatherService.getLocationChanges(since, Units.METRIC);
+
+        assertFalse(delta.isFull());
+        assertEquals(List.of(1L, 2L), delta.getChanged().stream().map(WeatherResponseDTO::getLocationId).toList());
+        assertEquals(List.of(7L), delta.getDeleted());
+        assertTrue(delta.getWatermark().isBefore(LocalDateTime.now().minusSeconds(4)));
+    }
+
+    @Test
+    void getLocationChangesFallsBackToFullListForExpiredWatermark() {
+        ReflectionTestUtils.setField(weatherService, "deltaOverlap", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(weatherService, "tombstoneRetention", Duration.ofDays(7));
+        when(locationRepository.findAllOrdered()).thenReturn(List.of());
+
+        WeatherDeltaDTO delta = weatherService.getLocationChanges(LocalDateTime.now().minusDays(8), Units.METRIC);
+
+        assertTrue(delta.isFull());
+        verify(locationTombstoneRepository, never()).findLocationIdsDeletedAfter(any());
+    }
+
+    @Test
+    void getLocationsPageFetchesOneExtraRowToIssueNextCursor() {
+        Location durban = new Location();
+        durban.setId(1L);
+        durban.setName("Durban");
+        durban.setIsFavorite(true);
+        Location paarl = new Location();
+        paarl.setId(2L);
+        paarl.setName("Paarl");
+        paarl.setDisplayName("Paarl, WC");
+        paarl.setIsFavorite(true);
+        Location tulbagh = new Location();
+        tulbagh.setId(3L);
+        tulbagh.setName("Tulbagh");
+
+        when(locationRepository.findPage(true, "ZA", "pa", null, 3)).thenReturn(List.of(durban, paarl, tulbagh));
+        when(latestWeatherRepository.findAllById(any()))
+                .thenReturn(List.of(latestFor(durban, 24.5), latestFor(paarl, 18.0)));
+
+        LocationPageDTO page = weatherService.getLocationsPage(true, "south africa", " pa ", null, 2, Units.METRIC);
+
+        assertEquals(List.of(1L, 2L), page.getItems().stream().map(WeatherResponseDTO::getLocationId).toList());
+        assertEquals(new LocationCursor(true, "Paarl, WC", "Paarl", 2L), LocationCursor.decode(page.getNextCursor()));
+
+        when(locationRepository.findPage(null, null, null, new LocationCursor(true, "Paarl, WC", "Paarl", 2L), 3))
+                .thenReturn(List.of(tulbagh));
+        when(latestWeatherRepository.findAllById(any())).thenReturn(List.of(latestFor(tulbagh, 12.0)));
+
+        LocationPageDTO last = weatherService.getLocationsPage(null, null, null, page.getNextCursor(), 2, Units.METRIC);
+
+        assertEquals(List.of(3L), last.getItems().stream().map(WeatherResponseDTO::getLocationId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void getLocationsPageRejectsBadLimitAndCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherService.getLocationsPage(null, null, null, null, 0, Units.METRIC));
+        assertThrows(IllegalArgumentException.class,
+                () -> weatherService.getLocationsPage(null, null, null, "not-a-cursor", 10, Units.METRIC));
+        verify(locationRepository, never()).findPage(any(), any(), any(), any(), eq(11));
+    }
 }
@@ -0,0 +1,54 @@
+package com.uzwide.WeatherApp.support;
+
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Recorded OpenWeatherMap payloads shared by tests and benchmarks.
+ */
+public final class OpenWeatherFixtures {
+    public static final String CURRENT_WEATHER = "/fixtures/openweather/weather.json";
+    public static final String FORECAST = "/fixtures/openweather/forecast.json";
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    private OpenWeatherFixtures() {
+    }
+
+    public static Map<String, Object> currentWeather() {
+        return load(CURRENT_WEATHER);
+    }
+
+    public static Map<String, Object> forecast() {
+        return load(FORECAST);
+    }
+
+    public static byte[] raw(String path) {
+        try (InputStream in = open(path)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + path, e);
+        }
+    }
+
+    private static Map<String, Object> load(String path) {
+        try (InputStream in = open(path)) {
+            return MAPPER.readValue(in, new TypeReference<Map<String, Object>>() {});
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture " + path, e);
+        }
+    }
+
+    private static InputStream open(String path) {
+        InputStream in = OpenWeatherFixtures.class.getResourceAsStream(path);
+        if (in == null) {
+            throw new IllegalStateException("Missing fixture " + path);
+        }
+        return in;
+    }
+}
@@ -0,0 +1,166 @@
+package com.uzwide.WeatherApp.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embeddable stand-in for the OpenWeatherMap {@code /weather} and {@code /forecast} endpoints.
+ * <p>
+ * Serves the recorded fixtures with a configurable latency distribution and error rate, so
+ * {@code weather.api.base-url} can point at it for deterministic, quota-free load tests.
+ * Run standalone with:
+ * <pre>
+ * java -cp ... com.uzwide.WeatherApp.support.OpenWeatherStubServer port=8089 latency=lognormal:80:0.5 errorRate=0.01
+ * </pre>
+ */
+public final class OpenWeatherStubServer implements AutoCloseable {
+    private static final byte[] ERROR_BODY =
+            "{\"cod\":500,\"message\":\"stubbed upstream failure\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final byte[] currentWeather = OpenWeatherFixtures.raw(OpenWeatherFixtures.CURRENT_WEATHER);
+    private final byte[] forecast = OpenWeatherFixtures.raw(OpenWeatherFixtures.FORECAST);
+    private final AtomicLong weatherRequests = new AtomicLong();
+    private final AtomicLong forecastRequests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+
+    private OpenWeatherStubServer(int port, LatencyModel latency, double errorRate, int errorStatus) throws IOException {
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 1024);
+        server.createContext("/weather", exchange -> handle(exchange, currentWeather, weatherRequests));
+        server.createContext("/forecast", exchange -> handle(exchange, forecast, forecastRequests));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static OpenWeatherStubServer start(int port, LatencyModel latency, double errorRate) throws IOException {
+        return new OpenWeatherStubServer(port, latency, errorRate, 500);
+    }
+
+    public static OpenWeatherStubServer start(int port, LatencyModel latency, double errorRate, int errorStatus)
+            throws IOException {
+        return new OpenWeatherStubServer(port, latency, errorRate, errorStatus);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long weatherRequests() {
+        return weatherRequests.get();
+    }
+
+    public long forecastRequests() {
+        return forecastRequests.get();
+    }
+
+    public long failedRequests() {
+        return failedRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, byte[] body, AtomicLong counter) throws IOException {
+        counter.incrementAndGet();
+        try (exchange) {
+            sleep(latency.sampleMillis());
+
+            boolean fail = errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+            byte[] payload = fail ? ERROR_BODY : body;
+            if (fail) {
+                failedRequests.incrementAndGet();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(fail ? errorStatus : 200, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8089;
+        LatencyModel latency = LatencyModel.parse("fixed:0");
+        double errorRate = 0.0;
+        int errorStatus = 500;
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            switch (pair[0]) {
+                case "port" -> port = Integer.parseInt(pair[1]);
+                case "latency" -> latency = LatencyModel.parse(pair[1]);
+                case "errorRate" -> errorRate = Double.parseDouble(pair[1]);
+                case "errorStatus" -> errorStatus = Integer.parseInt(pair[1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        OpenWeatherStubServer stub = start(port, latency, errorRate, errorStatus);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        System.out.printf("OpenWeather stub listening on %s (latency=%s, errorRate=%.3f, errorStatus=%d)%n",
+                stub.baseUrl(), latency, errorRate, errorStatus);
+    }
+
+    /**
+     * Upstream latency distribution, parsed from {@code fixed:<ms>}, {@code uniform:<min>:<max>}
+     * or {@code lognormal:<median ms>:<sigma>}.
+     */
+    public record LatencyModel(String kind, double first, double second) {
+
+        public static LatencyModel parse(String spec) {
+            String[] parts = spec.toLowerCase(Locale.ROOT).split(":");
+            return switch (parts[0]) {
+                case "fixed" -> new LatencyModel("fixed", Double.parseDouble(parts[1]), 0);
+                case "uniform", "lognormal" ->
+                        new LatencyModel(parts[0], Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                default -> throw new IllegalArgumentException("Unknown latency model: " + spec);
+            };
+        }
+
+        public long sampleMillis() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (kind) {
+                case "fixed" -> Math.round(first);
+                case "uniform" -> Math.round(first + random.nextDouble() * (second - first));
+                default -> Math.round(first * Math.exp(second * random.nextGaussian()));
+            };
+        }
+
+        @Override
+        public String toString() {
+            return "fixed".equals(kind) ? kind + ":" + first : kind + ":" + first + ":" + second;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.uzwide.WeatherApp.support;
+
+import io.zonky.test.db.postgres.embedded.DefaultPostgresBinaryResolver;
+import io.zonky.test.db.postgres.util.ArchUtils;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+import org.postgresql.ds.PGSimpleDataSource;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A throwaway PostgreSQL server for tests that need a real database, run from the binaries zonky
+ * publishes for embedded-postgres. PostgreSQL refuses to start as root, which is how tests run in
+ * most CI containers, so as root the server processes are started as {@code nobody} instead.
+ */
+public final class TestPostgres implements AutoCloseable {
+    private static final String RUN_AS = "nobody";
+    private static final boolean ROOT = "root".equals(System.getProperty("user.name"));
+
+    private static Path binaries;
+
+    private final Path dataDirectory;
+    private final int port;
+
+    private TestPostgres(Path dataDirectory, int port) {
+        this.dataDirectory = dataDirectory;
+        this.port = port;
+    }
+
+    public static TestPostgres start() throws IOException {
+        Path bin = binaries().resolve("bin");
+        Path dataDirectory = Files.createTempDirectory("weather-app-pgdata-");
+        if (ROOT) {
+            Files.setOwner(dataDirectory, FileSystems.getDefault().getUserPrincipalLookupService()
+                    .lookupPrincipalByName(RUN_AS));
+        }
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        TestPostgres postgres = new TestPostgres(dataDirectory, port);
+        try {
+            run(bin.resolve("initdb").toString(), "-A", "trust", "-U", "postgres", "-E", "UTF-8", "--no-sync",
+                    "-D", dataDirectory.toString());
+            // Durability is irrelevant for a database thrown away after the test
+            run(bin.resolve("pg_ctl").toString(), "-D", dataDirectory.toString(),
+                    "-l", dataDirectory.resolve("postgres.log").toString(), "-w", "-t", "60",
+                    "-o", "-p " + port + " -c listen_addresses=localhost -c unix_socket_directories=" + dataDirectory
+                            + " -c fsync=off -c synchronous_commit=off -c full_page_writes=off",
+                    "start");
+        } catch (IOException | RuntimeException e) {
+            postgres.close();
+            throw e;
+        }
+        return postgres;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getJdbcUrl() {
+        return "jdbc:postgresql://localhost:" + port + "/postgres";
+    }
+
+    public DataSource getDataSource() {
+        PGSimpleDataSource dataSource = new PGSimpleDataSource();
+        dataSource.setURL(getJdbcUrl());
+        dataSource.setUser("postgres");
+        return dataSource;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (Files.exists(dataDirectory.resolve("postmaster.pid"))) {
+                run(binaries().resolve("bin/pg_ctl").toString(), "-D", dataDirectory.toString(),
+                        "-m", "immediate", "-w", "stop");
+            }
+        } finally {
+            delete(dataDirectory);
+        }
+    }
+
+    private static void run(String... command) throws IOException {
+        List<String> commandLine = new ArrayList<>();
+        if (ROOT) {
+            commandLine.addAll(List.of("runuser", "-u", RUN_AS, "--"));
+        }
+        commandLine.addAll(List.of(command));
+        Process process = new ProcessBuilder(commandLine).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", commandLine) + " failed:\n" + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted running " + command[0], e);
+        }
+    }
+
+    /**
+     * Unpacks the server binaries once per JVM, readable and executable by {@link #RUN_AS}.
+     */
+    private static synchronized Path binaries() throws IOException {
+        if (binaries != null) {
+            return binaries;
+        }
+        Path directory = Files.createTempDirectory("weather-app-postgres-");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(directory)));
+        if (ROOT) {
+            Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxr-xr-x"));
+        }
+        String os = System.getProperty("os.name");
+        String system = os.startsWith("Windows") ? "Windows" : os.startsWith("Mac") ? "Darwin" : "Linux";
+        try (InputStream archive = DefaultPostgresBinaryResolver.INSTANCE.getPgBinary(system,
+                ArchUtils.normalize(System.getProperty("os.arch")));
+             TarArchiveInputStream tar = new TarArchiveInputStream(
+                     new XZCompressorInputStream(new BufferedInputStream(archive)))) {
+            for (TarArchiveEntry entry = tar.getNextEntry(); entry != null; entry = tar.getNextEntry()) {
+                Path target = directory.resolve(entry.getName()).normalize();
+                if (!target.startsWith(directory)) {
+                    throw new IOException("Unexpected entry in PostgreSQL archive: " + entry.getName());
+                }
+                if (entry.isDirectory()) {
+                    Files.createDirectories(target);
+                    continue;
+                }
+                Files.createDirectories(target.getParent());
+                if (entry.isSymbolicLink()) {
+                    Files.createSymbolicLink(target, Path.of(entry.getLinkName()));
+                } else {
+                    Files.copy(tar, target);
+                    if ((entry.getMode() & 0100) != 0) {
+                        target.toFile().setExecutable(true, false);
+                    }
+                }
+            }
+        }
+        if (ROOT) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.map(Path::toFile).forEach(file -> {
+                    file.setReadable(true, false);
+                    if (file.isDirectory()) {
+                        file.setExecutable(true, false);
+                    }
+                });
+            }
+        }
+        binaries = directory;
+        return binaries;
+    }
+
+    private static void delete(Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            // Left behind in the temp directory
+        }
+    }
+}
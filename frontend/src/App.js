@@ -11,6 +11,22 @@ import weatherService from './services/weatherService';
 import userPreferencesService from './services/userPreferencesService';
 import { FiSun, FiRefreshCw, FiPlus, FiMapPin, FiStar } from 'react-icons/fi';
 
+// Older than any server tombstone retention, so the server answers with the full list
+const FULL_SYNC_SINCE = '1970-01-01T00:00:00';
+
+const mergeLocationChanges = (current, { changed, deleted }) => {
+  const removed = new Set(deleted);
+  const updates = new Map(changed.map((loc) => [loc.locationId, loc]));
+  const merged = current
+    .filter((loc) => !removed.has(loc.locationId))
+    .map((loc) => {
+      const update = updates.get(loc.locationId);
+      updates.delete(loc.locationId);
+      return update || loc;
+    });
+  return [...merged, ...updates.values()];
+};
+
 function App() {
   const [locations, setLocations] = useState([]);
   const [loading, setLoading] = useState(true);
@@ -24,6 +40,7 @@ function App() {
   const [autoRefresh, setAutoRefresh] = useState(false);
   const [refreshInterval, setRefreshInterval] = useState(30);
   const autoRefreshTimer = useRef(null);
+  const watermark = useRef(null);
 
   useEffect(() => {
     fetchUserPreferences();
@@ -44,7 +61,7 @@ function App() {
     }
     if (autoRefresh && refreshInterval > 0) {
       autoRefreshTimer.current = setInterval(() => {
-        fetchLocations();
+        syncLocationChanges();
       }, refreshInterval * 60 * 1000);
     }
     return () => {
@@ -79,8 +96,9 @@ function App() {
     try {
       setLoading(true);
       setLocationsError(null);
-      const data = await weatherService.getAllLocations(units);
-      setLocations(data);
+      const delta = await weatherService.getLocationChanges(FULL_SYNC_SINCE, units);
+      watermark.current = delta.watermark;
+      setLocations(delta.changed);
       setLastSyncAt(new Date().toISOString());
     } catch (error) {
       console.error('Failed to fetch locations:', error);
@@ -91,6 +109,22 @@ function App() {
     }
   };
 
+  // Background refresh: transfer and re-render only the locations that changed
+  const syncLocationChanges = async () => {
+    if (!watermark.current) {
+      await fetchLocations();
+      return;
+    }
+    try {
+      const delta = await weatherService.getLocationChanges(watermark.current, units);
+      watermark.current = delta.watermark;
+      setLocations((current) => (delta.full ? delta.changed : mergeLocationChanges(current, delta)));
+      setLastSyncAt(new Date().toISOString());
+    } catch (error) {
+      console.error('Failed to sync location changes:', error);
+    }
+  };
+
   const handleRefreshAll = async () => {
     setRefreshing(true);
     try {
@@ -1,5 +1,5 @@
 import React, { useState } from 'react';
-import { FiCopy, FiCheck, FiBook, FiCode, FiServer, FiDatabase, FiCloud, FiUser } from 'react-icons/fi';
+import { FiCopy, FiCheck, FiBook, FiCode, FiServer, FiDatabase, FiCloud, FiUser, FiBell } from 'react-icons/fi';
 import toast from 'react-hot-toast';
 
 const ApiDocumentation = () => {
@@ -27,6 +27,32 @@ const ApiDocumentation = () => {
           response: 'Array of WeatherResponseDTO objects',
           example: 'GET /api/weather/locations?units=METRIC'
         },
+        {
+          method: 'GET',
+          path: '/api/weather/locations?since={watermark}',
+          description: 'Only the locations changed since a previous response, plus ids of deleted locations',
+          parameters: [
+            { name: 'since', type: 'query', required: true, description: 'Watermark returned by the previous call' },
+            { name: 'units', type: 'query', required: false, description: 'Units: METRIC, IMPERIAL, STANDARD', default: 'METRIC' }
+          ],
+          response: 'WeatherDeltaDTO: changed, deleted, watermark, full',
+          example: 'GET /api/weather/locations?since=2026-01-01T10:00:00&units=METRIC'
+        },
+        {
+          method: 'GET',
+          path: '/api/weather/locations',
+          description: 'One page of locations in list order, optionally filtered; continue with the returned cursor',
+          parameters: [
+            { name: 'limit', type: 'query', required: true, description: 'Page size, 1 to 200; returns a page instead of the full list' },
+            { name: 'cursor', type: 'query', required: false, description: 'nextCursor from the previous page' },
+            { name: 'favorite', type: 'query', required: false, description: 'Only favorites (true) or only non-favorites (false)' },
+            { name: 'country', type: 'query', required: false, description: 'Country code or name' },
+            { name: 'q', type: 'query', required: false, description: 'Name or display name prefix, case-insensitive' },
+            { name: 'units', type: 'query', required: false, description: 'Units: METRIC, IMPERIAL, STANDARD', default: 'METRIC' }
+          ],
+          response: 'LocationPageDTO: items, nextCursor',
+          example: 'GET /api/weather/locations?limit=50&favorite=true'
+        },
         {
           method: 'POST',
           path: '/api/weather/locations',
@@ -102,6 +128,17 @@ const ApiDocumentation = () => {
           ],
           response: 'List of ForecastDTO objects',
           example: 'GET /api/forecast/1?units=METRIC'
+        },
+        {
+          method: 'GET',
+          path: '/api/forecast/{locationId}/daily',
+          description: 'Get the 5-day forecast summarised per day in the location\'s timezone',
+          parameters: [
+            { name: 'locationId', type: 'path', required: true, description: 'Location ID' },
+            { name: 'units', type: 'query', required: false, description: 'Units: METRIC, IMPERIAL, STANDARD', default: 'METRIC' }
+          ],
+          response: 'List of DailyForecastDTO objects',
+          example: 'GET /api/forecast/1/daily?units=METRIC'
         }
       ]
     },
@@ -131,6 +168,56 @@ const ApiDocumentation = () => {
         }
       ]
     },
+    {
+      category: 'Alerts',
+      icon: FiBell,
+      endpoints: [
+        {
+          method: 'GET',
+          path: '/api/alerts',
+          description: 'Most recent triggered alerts, newest first',
+          parameters: [
+            { name: 'locationId', type: 'query', required: false, description: 'Only alerts for this location' },
+            { name: 'limit', type: 'query', required: false, description: 'Maximum alerts returned, up to 500', default: '50' }
+          ],
+          response: 'Array of WeatherAlert objects',
+          example: 'GET /api/alerts?locationId=3&limit=20'
+        },
+        {
+          method: 'GET',
+          path: '/api/alerts/rules',
+          description: 'All alert rules',
+          parameters: [],
+          response: 'Array of AlertRule objects',
+          example: 'GET /api/alerts/rules'
+        },
+        {
+          method: 'POST',
+          path: '/api/alerts/rules',
+          description: 'Create an alert rule for one location, or for all when locationId is omitted',
+          parameters: [
+            { name: 'metric', type: 'body', required: true, description: 'TEMPERATURE, FEELS_LIKE, HUMIDITY, PRESSURE, WIND_SPEED or CONDITION' },
+            { name: 'operator', type: 'body', required: true, description: 'ABOVE, BELOW, CHANGE, or EQUALS for CONDITION' },
+            { name: 'threshold', type: 'body', required: false, description: 'Threshold in metric units (°C, %, hPa, m/s)' },
+            { name: 'condition', type: 'body', required: false, description: 'Weather condition for CONDITION rules, e.g. Thunderstorm' },
+            { name: 'locationId', type: 'body', required: false, description: 'Location the rule applies to' },
+            { name: 'name', type: 'body', required: false, description: 'Label shown in alert messages' }
+          ],
+          response: 'AlertRule object',
+          example: 'POST /api/alerts/rules\nBody: {"metric":"TEMPERATURE","operator":"ABOVE","threshold":30,"name":"Heat"}'
+        },
+        {
+          method: 'DELETE',
+          path: '/api/alerts/rules/{id}',
+          description: 'Delete an alert rule; alerts it raised are kept',
+          parameters: [
+            { name: 'id', type: 'path', required: true, description: 'Rule ID' }
+          ],
+          response: '204 No Content',
+          example: 'DELETE /api/alerts/rules/4'
+        }
+      ]
+    },
     {
       category: 'Health & Monitoring',
       icon: FiServer,
@@ -176,6 +263,14 @@ const ApiDocumentation = () => {
         { name: 'lastUpdated', type: 'String', description: 'Data fetch timestamp' }
       ]
     },
+    {
+      name: 'LocationPageDTO',
+      description: 'One page of the location list',
+      fields: [
+        { name: 'items', type: 'WeatherResponseDTO[]', description: 'Locations on this page, favorites first' },
+        { name: 'nextCursor', type: 'String', description: 'Cursor for the next page; null on the last page' }
+      ]
+    },
     {
       name: 'ForecastDTO',
       description: 'Weather forecast data point',
@@ -195,6 +290,21 @@ const ApiDocumentation = () => {
         { name: 'rainVolume', type: 'Double', description: 'Forecast rain volume' }
       ]
     },
+    {
+      name: 'DailyForecastDTO',
+      description: 'One forecast day in the location\'s timezone',
+      fields: [
+        { name: 'date', type: 'String', description: 'Local calendar date' },
+        { name: 'minTemperature', type: 'Double', description: 'Lowest temperature of the day' },
+        { name: 'maxTemperature', type: 'Double', description: 'Highest temperature of the day' },
+        { name: 'precipitationTotal', type: 'Double', description: 'Total forecast rain volume' },
+        { name: 'precipitationProbability', type: 'Double', description: 'Highest precipitation probability of the day' },
+        { name: 'weatherCondition', type: 'String', description: 'Most frequent weather condition' },
+        { name: 'weatherDescription', type: 'String', description: 'Description of the dominant condition' },
+        { name: 'weatherIcon', type: 'String', description: 'Icon of the dominant condition' },
+        { name: 'intervals', type: 'Integer', description: 'Number of 3-hour steps in the day' }
+      ]
+    },
     {
       name: 'UserPreferencesDTO',
       description: 'User preferences configuration',
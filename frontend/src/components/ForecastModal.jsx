@@ -1,26 +1,45 @@
 import React, { useState, useEffect, useRef, useCallback } from 'react';
 import { FiX } from 'react-icons/fi';
 import weatherService from '../services/weatherService';
-import { format } from 'date-fns';
+import { format, parseISO } from 'date-fns';
 
 const ForecastModal = ({ isOpen, onClose, location, units }) => {
-  const [forecast, setForecast] = useState([]);
+  const [daily, setDaily] = useState([]);
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
-  const [groupedForecast, setGroupedForecast] = useState({});
+  const [groupedForecast, setGroupedForecast] = useState(null);
+  const [loadingSteps, setLoadingSteps] = useState(false);
 
   useEffect(() => {
     if (isOpen && location) {
+      setGroupedForecast(null);
       fetchForecast();
     }
   }, [isOpen, location, units]);
 
+  // Daily summaries are aggregated on the server; the 3-hour steps are only fetched on request
   const fetchForecast = async () => {
     setLoading(true);
     setError(null);
+    try {
+      const data = await weatherService.getDailyForecast(location.locationId, units);
+      setDaily(data);
+    } catch (error) {
+      setError('Failed to fetch forecast data');
+      console.error('Failed to fetch forecast:', error);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  const toggleSteps = async () => {
+    if (groupedForecast) {
+      setGroupedForecast(null);
+      return;
+    }
+    setLoadingSteps(true);
     try {
       const data = await weatherService.getForecast(location.locationId, units);
-      setForecast(data);
 
       // Group forecast by date
       const grouped = data.reduce((acc, item) => {
@@ -37,7 +56,7 @@ const ForecastModal = ({ isOpen, onClose, location, units }) => {
       setError('Failed to fetch forecast data');
       console.error('Failed to fetch forecast:', error);
     } finally {
-      setLoading(false);
+      setLoadingSteps(false);
     }
   };
 
@@ -107,7 +126,48 @@ const ForecastModal = ({ isOpen, onClose, location, units }) => {
             </div>
           ) : (
             <div className="space-y-6">
-              {Object.entries(groupedForecast).map(([date, items]) => (
+              <div className="grid grid-cols-2 gap-4 md:grid-cols-3 lg:grid-cols-6">
+                {daily.map((day) => (
+                  <div key={day.date} className="rounded-xl border border-slate-200 bg-slate-50 p-4 text-center">
+                    <h3 className="text-sm font-semibold text-slate-800">
+                      {format(parseISO(day.date), 'EEE, MMM d')}
+                    </h3>
+                    <img
+                      src={getWeatherIcon(day.weatherIcon)}
+                      alt={day.weatherDescription}
+                      className="mx-auto h-12 w-12"
+                    />
+                    <p className="font-semibold text-slate-800">
+                      {weatherService.formatTemperature(day.maxTemperature, units)}
+                      <span className="ml-1 font-normal text-slate-500">
+                        {weatherService.formatTemperature(day.minTemperature, units)}
+                      </span>
+                    </p>
+                    <p className="truncate text-xs capitalize text-slate-600">
+                      {day.weatherDescription}
+                    </p>
+                    {day.precipitationProbability > 0 && (
+                      <p className="mt-2 text-xs text-slate-500">
+                        🌧️ {Math.round(day.precipitationProbability * 100)}%
+                        {day.precipitationTotal > 0 && ` · ${day.precipitationTotal.toFixed(1)} mm`}
+                      </p>
+                    )}
+                  </div>
+                ))}
+              </div>
+
+              <div className="text-center">
+                <button
+                  onClick={toggleSteps}
+                  disabled={loadingSteps}
+                  aria-expanded={Boolean(groupedForecast)}
+                  className="rounded-lg border border-slate-300 px-4 py-2 text-sm font-medium text-slate-700 hover:bg-slate-100 disabled:opacity-50"
+                >
+                  {loadingSteps ? 'Loading…' : groupedForecast ? 'Hide 3-hour steps' : 'Show 3-hour steps'}
+                </button>
+              </div>
+
+              {groupedForecast && Object.entries(groupedForecast).map(([date, items]) => (
                 <div key={date} className="rounded-xl border border-slate-200 bg-slate-50 p-4">
                   <h3 className="mb-3 font-semibold text-slate-800">
                     {format(new Date(date), 'EEEE, MMMM d')}
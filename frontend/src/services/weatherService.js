@@ -94,6 +94,24 @@ class WeatherService {
     return response.data;
   }
 
+  // Locations changed since a server-issued watermark, plus ids deleted since.
+  // A watermark the server no longer covers returns every location with full: true.
+  async getLocationChanges(since, units = 'METRIC') {
+    const response = await this.api.get('/weather/locations', {
+      params: { since, units }
+    });
+    return response.data;
+  }
+
+  // One page of locations; pass the previous page's nextCursor to continue.
+  // filters: { favorite, country, q } narrow the list and may be omitted.
+  async getLocationsPage({ cursor, limit = 50, units = 'METRIC', ...filters } = {}) {
+    const response = await this.api.get('/weather/locations', {
+      params: { ...filters, cursor, limit, units }
+    });
+    return response.data;
+  }
+
   async getLocationWeather(locationId, units = 'METRIC') {
     const response = await this.api.get(`/weather/locations/${locationId}`, {
       params: { units }
@@ -130,6 +148,35 @@ class WeatherService {
     return response.data;
   }
 
+  async getDailyForecast(locationId, units = 'METRIC') {
+    const response = await this.api.get(`/forecast/${locationId}/daily`, {
+      params: { units }
+    });
+    return response.data;
+  }
+
+  // Alerts
+  async getAlerts(locationId, limit = 50) {
+    const response = await this.api.get('/alerts', {
+      params: { locationId, limit }
+    });
+    return response.data;
+  }
+
+  async getAlertRules() {
+    const response = await this.api.get('/alerts/rules');
+    return response.data;
+  }
+
+  async createAlertRule(rule) {
+    const response = await this.api.post('/alerts/rules', rule);
+    return response.data;
+  }
+
+  async deleteAlertRule(ruleId) {
+    await this.api.delete(`/alerts/rules/${ruleId}`);
+  }
+
   // User Preferences
   async getUserPreferences() {
     const response = await this.api.get('/preferences');
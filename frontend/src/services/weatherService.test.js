@@ -52,6 +52,55 @@ describe('weatherService', () => {
     expect(result).toEqual(payload);
   });
 
+  test('getLocationChanges passes the watermark and units', async () => {
+    const payload = { changed: [{ locationId: 2 }], deleted: [7], watermark: '2026-01-01T10:00:00', full: false };
+    mockApi.get.mockResolvedValue({ data: payload });
+
+    const result = await weatherService.getLocationChanges('2026-01-01T09:00:00', 'METRIC');
+
+    expect(mockApi.get).toHaveBeenCalledWith('/weather/locations', {
+      params: { since: '2026-01-01T09:00:00', units: 'METRIC' },
+    });
+    expect(result).toEqual(payload);
+  });
+
+  test('getLocationsPage passes cursor, limit and filters', async () => {
+    const payload = { items: [{ locationId: 3 }], nextCursor: null };
+    mockApi.get.mockResolvedValue({ data: payload });
+
+    const result = await weatherService.getLocationsPage({ cursor: 'abc', limit: 20, favorite: true, country: 'ZA' });
+
+    expect(mockApi.get).toHaveBeenCalledWith('/weather/locations', {
+      params: { favorite: true, country: 'ZA', cursor: 'abc', limit: 20, units: 'METRIC' },
+    });
+    expect(result).toEqual(payload);
+  });
+
+  test('createAlertRule posts the rule and getAlerts filters by location', async () => {
+    const rule = { metric: 'TEMPERATURE', operator: 'ABOVE', threshold: 30 };
+    mockApi.post.mockResolvedValue({ data: { id: 4, ...rule } });
+    mockApi.get.mockResolvedValue({ data: [] });
+
+    const created = await weatherService.createAlertRule(rule);
+    await weatherService.getAlerts(3, 20);
+
+    expect(mockApi.post).toHaveBeenCalledWith('/alerts/rules', rule);
+    expect(created.id).toBe(4);
+    expect(mockApi.get).toHaveBeenCalledWith('/alerts', { params: { locationId: 3, limit: 20 } });
+  });
+
+  test('getDailyForecast requests the daily summary for the location', async () => {
+    const payload = [{ date: '2026-01-01', minTemperature: 12, maxTemperature: 21, intervals: 8 }];
+    mockApi.get.mockResolvedValue({ data: payload });
+
+    const result = await weatherService.getDailyForecast(3, 'IMPERIAL');
+
+    expect(mockApi.get).toHaveBeenCalledWith('/forecast/3/daily', {
+      params: { units: 'IMPERIAL' },
+    });
+    expect(result).toEqual(payload);
+  });
+
   test('searchLocations maps OpenWeather response', async () => {
     axios.get.mockResolvedValue({
       data: [